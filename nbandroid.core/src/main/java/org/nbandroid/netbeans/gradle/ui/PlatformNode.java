@@ -26,10 +26,10 @@ import javax.swing.ImageIcon;
 import javax.swing.SwingUtilities;
 import org.nbandroid.netbeans.gradle.api.AndroidClassPath;
 import org.nbandroid.netbeans.gradle.v2.sdk.AndroidPlatformInfo;
+import org.nbandroid.netbeans.gradle.v2.sdk.java.platform.VirtualJava8Root;
 import org.netbeans.api.java.classpath.ClassPath;
 import org.netbeans.api.project.Project;
 import org.netbeans.api.project.SourceGroup;
-import org.netbeans.modules.android.project.query.AndroidClassPathProvider;
 import org.netbeans.spi.java.project.support.ui.PackageView;
 import org.netbeans.spi.project.support.ant.PropertyEvaluator;
 import org.openide.filesystems.FileObject;
@@ -150,7 +150,7 @@ public final class PlatformNode extends AbstractNode {
             FileObject[] roots = cpProvider.getClassPath(ClassPath.BOOT).getRoots();
             List<SourceGroup> result = new ArrayList<>(roots.length);
             for (FileObject root : roots) {
-                if (AndroidClassPathProvider.VIRTUALJAVA8ROOT_DIR.getPath().equals(root.getPath())) {
+                if (VirtualJava8Root.isVirtualRoot(root)) {
                     continue;
                 }
                 FileObject file;
@@ -25,8 +25,10 @@ import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.swing.text.Document;
@@ -178,43 +180,44 @@ public class AndroidColorCodesProvider implements ColorCodesProvider {
         }
     }
 
-    private void parseColorVariables(Project project, String line, List<ColorValue> colorValues, int lineNumber) {
+    //@color/name used as attribute value or element text
+    private static final Pattern COLOR_REFERENCE = Pattern.compile("([\">])@color/([\\w.]+)(?=[\"<])");
+
+    /**
+     * Resolve color references of line by name from resource index
+     */
+    private void findColorReferences(Project project, String line, List<ColorValue> colorValues, int lineNumber) {
         AndroidResValuesProvider provider = project.getLookup().lookup(AndroidResValuesProvider.class);
-        if (provider != null) {
-            List<BasicValuesCompletionItem> colors = provider.forType(AndroidValueType.COLOR);
-            for (int i = 0; i < colors.size(); i++) {
-                BasicValuesCompletionItem basicValuesCompletionItem = colors.get(i);
-                if (basicValuesCompletionItem instanceof ColorValuesCompletionItem) {
-                    Color color = ((ColorValuesCompletionItem) basicValuesCompletionItem).getColor();
-                    String completionText = basicValuesCompletionItem.getCompletionText();
-                    if (color != null && completionText != null && line.contains("\"" + completionText + "\"")) {
-                        colorValues.add(new ReadOnlyColorValue(this, color, completionText, 0, 0, lineNumber));
-                    }
-                    if (color != null && completionText != null && line.contains(">" + completionText + "<")) {
-                        colorValues.add(new ReadOnlyColorValue(this, color, completionText, 0, 0, lineNumber));
-                    }
+        if (provider == null || !line.contains("@color/")) {
+            return;
+        }
+        Set<String> found = new HashSet<>();
+        Matcher matcher = COLOR_REFERENCE.matcher(line);
+        while (matcher.find()) {
+            String delimiter = matcher.group(1);
+            char end = line.charAt(matcher.end());
+            if ("\"".equals(delimiter) != (end == '"')) {
+                continue;
+            }
+            //each reference once per attribute and element form, as before
+            if (!found.add(delimiter + matcher.group(2))) {
+                continue;
+            }
+            BasicValuesCompletionItem item = provider.findByName(AndroidValueType.COLOR, matcher.group(2));
+            if (item instanceof ColorValuesCompletionItem) {
+                Color color = ((ColorValuesCompletionItem) item).getColor();
+                if (color != null) {
+                    colorValues.add(new ReadOnlyColorValue(this, color, item.getCompletionText(), 0, 0, lineNumber));
                 }
             }
         }
     }
 
+    private void parseColorVariables(Project project, String line, List<ColorValue> colorValues, int lineNumber) {
+        findColorReferences(project, line, colorValues, lineNumber);
+    }
+
     private void parseLayoutColorVariables(Project project, String line, List<ColorValue> colorValues, int lineNumber) {
-        AndroidResValuesProvider provider = project.getLookup().lookup(AndroidResValuesProvider.class);
-        if (provider != null) {
-            List<BasicValuesCompletionItem> colors = provider.forType(AndroidValueType.COLOR);
-            for (int i = 0; i < colors.size(); i++) {
-                BasicValuesCompletionItem basicValuesCompletionItem = colors.get(i);
-                if (basicValuesCompletionItem instanceof ColorValuesCompletionItem) {
-                    Color color = ((ColorValuesCompletionItem) basicValuesCompletionItem).getColor();
-                    String completionText = basicValuesCompletionItem.getCompletionText();
-                    if (color != null && completionText != null && line.contains("\"" + completionText + "\"")) {
-                        colorValues.add(new ReadOnlyColorValue(this, color, completionText, 0, 0, lineNumber));
-                    }
-                    if (color != null && completionText != null && line.contains(">" + completionText + "<")) {
-                        colorValues.add(new ReadOnlyColorValue(this, color, completionText, 0, 0, lineNumber));
-                    }
-                }
-            }
-        }
+        findColorReferences(project, line, colorValues, lineNumber);
     }
 }
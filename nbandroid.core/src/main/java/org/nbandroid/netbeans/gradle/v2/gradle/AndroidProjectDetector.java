@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Detects Android module from build.gradle. Most of scripts are decided by
+ * lexical check of code outside of comments and strings, Groovy AST is parsed
+ * only when it is not conclusive. Result is cached by path, size and timestamp
+ * of script.
+ *
+ * @author arsi
+ */
+public class AndroidProjectDetector {
+
+    private static final int CACHE_SIZE = 1024;
+    //bounded, folders probed by file choosers and Favorites are cached too
+    private static final Map<String, Detection> CACHE = new LinkedHashMap<String, Detection>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Detection> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    //android { or android( not preceded by identifier or dot, ie not com.android
+    private static final Pattern ANDROID_BLOCK = Pattern.compile("(?<![\\w.$])android\\s*[{(]");
+
+    private AndroidProjectDetector() {
+    }
+
+    /**
+     * Is build script of Android module?
+     *
+     * @param buildGradle build.gradle
+     * @return true when script contains android block
+     */
+    public static boolean isAndroidProject(File buildGradle) {
+        long lastModified = buildGradle.lastModified();
+        long length = buildGradle.length();
+        String key = buildGradle.getAbsolutePath();
+        Detection detection;
+        synchronized (CACHE) {
+            detection = CACHE.get(key);
+        }
+        if (detection != null && detection.lastModified == lastModified && detection.length == length) {
+            return detection.android;
+        }
+        boolean android = detect(buildGradle);
+        synchronized (CACHE) {
+            CACHE.put(key, new Detection(lastModified, length, android));
+        }
+        return android;
+    }
+
+    private static boolean detect(File buildGradle) {
+        String text;
+        try {
+            text = new String(Files.readAllBytes(buildGradle.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            return false;
+        }
+        if (!text.contains("android")) {
+            return false;
+        }
+        if (ANDROID_BLOCK.matcher(codeOnly(text)).find()) {
+            return true;
+        }
+        //android only in strings or in unusual syntax
+        BuildScriptFacts facts = BuildScriptFacts.get(buildGradle);
+        if (facts == null) {
+            return false;
+        }
+        if (facts.isAndroid()) {
+            return true;
+        }
+        //android block configured outside of script, ie from root project
+        for (String plugin : facts.getPlugins()) {
+            if (plugin.startsWith("com.android.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Text of script without comments and string literals, each of them is
+     * replaced by one space
+     *
+     * @param text
+     * @return
+     */
+    static String codeOnly(String text) {
+        StringBuilder code = new StringBuilder(text.length());
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '/' && text.startsWith("//", i)) {
+                i = skipTo(text, "\n", i + 2);
+            } else if (c == '/' && text.startsWith("/*", i)) {
+                i = skipTo(text, "*/", i + 2);
+            } else if (c == '"' || c == '\'') {
+                String quote = text.startsWith("" + c + c + c, i) ? "" + c + c + c : String.valueOf(c);
+                i = skipString(text, quote, i + quote.length());
+            } else {
+                code.append(c);
+                i++;
+                continue;
+            }
+            code.append(' ');
+        }
+        return code.toString();
+    }
+
+    private static int skipTo(String text, String end, int from) {
+        int index = text.indexOf(end, from);
+        return index == -1 ? text.length() : index + end.length();
+    }
+
+    private static int skipString(String text, String quote, int from) {
+        int i = from;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (text.startsWith(quote, i)) {
+                return i + quote.length();
+            } else if (c == '\n' && quote.length() == 1) {
+                //unterminated single line string
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return text.length();
+    }
+
+    private static final class Detection {
+
+        private final long lastModified;
+        private final long length;
+        private final boolean android;
+
+        public Detection(long lastModified, long length, boolean android) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.android = android;
+        }
+
+    }
+
+}
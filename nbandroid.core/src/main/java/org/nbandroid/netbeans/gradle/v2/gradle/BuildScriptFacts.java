@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.gradle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.CodeVisitorSupport;
+import org.codehaus.groovy.ast.builder.AstBuilder;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.MapEntryExpression;
+import org.codehaus.groovy.ast.expr.MapExpression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.nbandroid.netbeans.gradle.v2.gradle.build.parser.AndroidGradleDependencies;
+import org.nbandroid.netbeans.gradle.v2.gradle.build.parser.AndroidGradleDependenciesVisitor;
+import org.openide.modules.Places;
+import sk.arsi.netbeans.gradle.android.maven.repository.AndroidRepository;
+import sk.arsi.netbeans.gradle.android.maven.repository.IvyRepository;
+import sk.arsi.netbeans.gradle.android.maven.repository.JCenterRepository;
+import sk.arsi.netbeans.gradle.android.maven.repository.MavenCentralRepository;
+import sk.arsi.netbeans.gradle.android.maven.repository.MavenRepository;
+import sk.arsi.netbeans.gradle.android.maven.repository.Repository;
+import sk.arsi.netbeans.gradle.android.maven.repository.RepositoryType;
+
+/**
+ * Facts of build.gradle extracted from one parse of script: android block,
+ * plugins, repositories and dependencies with their positions. Facts are
+ * cached in memory by content hash of script and on disk in one entry per
+ * script. Scripts which can't be parsed are remembered by content hash too.
+ *
+ * @author arsi
+ */
+public class BuildScriptFacts implements Serializable {
+
+    private static final long serialVersionUID = 3L;
+    private static final Logger LOG = Logger.getLogger(BuildScriptFacts.class.getName());
+    private static final String CACHE_FOLDER = "nbandroid/buildscripts";
+    private static final int MEMORY_CACHE_SIZE = 256;
+    private static final Map<String, BuildScriptFacts> MEMORY_CACHE = new LinkedHashMap<String, BuildScriptFacts>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BuildScriptFacts> eldest) {
+            return size() > MEMORY_CACHE_SIZE;
+        }
+    };
+    private static boolean legacyPruned = false;
+
+    //content hashes of scripts which can't be parsed
+    private static final Map<String, Boolean> INVALID_SCRIPTS = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MEMORY_CACHE_SIZE;
+        }
+    };
+
+    private final boolean android;
+    private final String contentHash;
+    private final ArrayList<String> plugins;
+    private final ArrayList<RepositoryFact> repositories;
+    private final AndroidGradleDependencies dependencies;
+
+    private BuildScriptFacts(String contentHash, boolean android, ArrayList<String> plugins, ArrayList<RepositoryFact> repositories, AndroidGradleDependencies dependencies) {
+        this.contentHash = contentHash;
+        this.android = android;
+        this.plugins = plugins;
+        this.repositories = repositories;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Facts of build script
+     *
+     * @param buildGradle build.gradle
+     * @return facts or null when script can't be read or parsed
+     */
+    public static BuildScriptFacts get(File buildGradle) {
+        String text;
+        String hash;
+        String pathHash;
+        try {
+            byte[] content = Files.readAllBytes(buildGradle.toPath());
+            hash = toHex(MessageDigest.getInstance("SHA-1").digest(content));
+            pathHash = toHex(MessageDigest.getInstance("SHA-1").digest(buildGradle.getAbsolutePath().getBytes(StandardCharsets.UTF_8)));
+            text = new String(content, StandardCharsets.UTF_8);
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            LOG.log(Level.FINE, "Unable to read " + buildGradle, ex);
+            return null;
+        }
+        synchronized (MEMORY_CACHE) {
+            BuildScriptFacts facts = MEMORY_CACHE.get(hash);
+            if (facts != null) {
+                return facts;
+            }
+            if (INVALID_SCRIPTS.containsKey(hash)) {
+                return null;
+            }
+        }
+        //one entry per script, rewritten when content of script changes
+        File cacheFile = new File(cacheFolder(), pathHash + ".facts");
+        BuildScriptFacts facts = load(cacheFile);
+        if (facts == null || !hash.equals(facts.contentHash)) {
+            try {
+                facts = parse(hash, text);
+            } catch (RuntimeException ex) {
+                //not valid script
+                LOG.log(Level.FINE, "Unable to parse " + buildGradle, ex);
+                synchronized (MEMORY_CACHE) {
+                    INVALID_SCRIPTS.put(hash, Boolean.TRUE);
+                }
+                return null;
+            }
+            store(cacheFile, facts);
+        }
+        synchronized (MEMORY_CACHE) {
+            MEMORY_CACHE.put(hash, facts);
+        }
+        return facts;
+    }
+
+    private static synchronized File cacheFolder() {
+        File folder = Places.getCacheSubdirectory(CACHE_FOLDER);
+        if (!legacyPruned) {
+            legacyPruned = true;
+            //entries of previous layout were keyed by content hash and never deleted
+            File[] legacy = folder.listFiles((File dir, String name) -> name.endsWith(".obj"));
+            if (legacy != null) {
+                for (File file : legacy) {
+                    file.delete();
+                }
+            }
+        }
+        return folder;
+    }
+
+    private static BuildScriptFacts parse(String hash, String text) {
+        List<ASTNode> nodes = new AstBuilder().buildFromString(text);
+        PluginsVisitor pluginsVisitor = new PluginsVisitor();
+        for (ASTNode node : nodes) {
+            node.visit(pluginsVisitor);
+        }
+        ArrayList<RepositoryFact> repositories = new ArrayList<>();
+        for (Repository repository : FindRepositoriesVisitor.visit(nodes)) {
+            repositories.add(new RepositoryFact(repository.getType(), repository.getUrl()));
+        }
+        return new BuildScriptFacts(hash, FindAndroidVisitor.visit(nodes), pluginsVisitor.plugins, repositories,
+                AndroidGradleDependenciesVisitor.parse(nodes).getDependencies());
+    }
+
+    private static BuildScriptFacts load(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ObjectInputStream is = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return (BuildScriptFacts) is.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            LOG.log(Level.FINE, "Invalid build script cache " + file, ex);
+            file.delete();
+            return null;
+        }
+    }
+
+    private static void store(File file, BuildScriptFacts facts) {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (ObjectOutputStream os = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            os.writeObject(facts);
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Unable to store build script cache " + file, ex);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Has script android block?
+     *
+     * @return
+     */
+    public boolean isAndroid() {
+        return android;
+    }
+
+    /**
+     * Plugins applied by apply plugin: or plugins {id}
+     *
+     * @return
+     */
+    public List<String> getPlugins() {
+        return Collections.unmodifiableList(plugins);
+    }
+
+    /**
+     * Repositories of script, Android repository is always first
+     *
+     * @return new list of repositories
+     */
+    public List<Repository> getRepositories() {
+        List<Repository> tmp = new ArrayList<>();
+        for (RepositoryFact fact : repositories) {
+            switch (fact.type) {
+                case ANDROID:
+                    tmp.add(new AndroidRepository());
+                    break;
+                case MAVEN_CENTRAL:
+                    tmp.add(new MavenCentralRepository());
+                    break;
+                case JCENTER:
+                    tmp.add(new JCenterRepository());
+                    break;
+                case IVY:
+                    tmp.add(new IvyRepository(fact.url));
+                    break;
+                default:
+                    tmp.add(new MavenRepository(fact.url));
+                    break;
+            }
+        }
+        return tmp;
+    }
+
+    /**
+     * Dependencies block of script, list of dependencies is unmodifiable
+     *
+     * @return dependencies or null
+     */
+    public AndroidGradleDependencies getDependencies() {
+        return dependencies;
+    }
+
+    private static final class RepositoryFact implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final RepositoryType type;
+        private final String url;
+
+        public RepositoryFact(RepositoryType type, String url) {
+            this.type = type;
+            this.url = url;
+        }
+
+    }
+
+    private static final class PluginsVisitor extends CodeVisitorSupport {
+
+        private final ArrayList<String> plugins = new ArrayList<>();
+        private boolean pluginsBlock = false;
+
+        @Override
+        public void visitMethodCallExpression(MethodCallExpression call) {
+            String method = call.getMethodAsString();
+            if ("plugins".equals(method)) {
+                pluginsBlock = true;
+                super.visitMethodCallExpression(call);
+                pluginsBlock = false;
+                return;
+            } else if ("apply".equals(method)) {
+                call.getArguments().visit(new CodeVisitorSupport() {
+                    @Override
+                    public void visitMapExpression(MapExpression expression) {
+                        for (MapEntryExpression entry : expression.getMapEntryExpressions()) {
+                            if ("plugin".equals(entry.getKeyExpression().getText()) && entry.getValueExpression() instanceof ConstantExpression) {
+                                addPlugin(entry.getValueExpression().getText());
+                            }
+                        }
+                    }
+                });
+            } else if (pluginsBlock && "id".equals(method)) {
+                call.getArguments().visit(new CodeVisitorSupport() {
+                    @Override
+                    public void visitConstantExpression(ConstantExpression expression) {
+                        addPlugin(expression.getText());
+                    }
+                });
+            }
+            super.visitMethodCallExpression(call);
+        }
+
+        private void addPlugin(String plugin) {
+            if (!plugins.contains(plugin)) {
+                plugins.add(plugin);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.gradle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.CodeVisitorSupport;
+import org.codehaus.groovy.ast.builder.AstBuilder;
+import org.codehaus.groovy.ast.expr.ArgumentListExpression;
+import org.codehaus.groovy.ast.expr.BinaryExpression;
+import org.codehaus.groovy.ast.expr.BitwiseNegationExpression;
+import org.codehaus.groovy.ast.expr.CastExpression;
+import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.expr.ClosureExpression;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
+import org.codehaus.groovy.ast.expr.ElvisOperatorExpression;
+import org.codehaus.groovy.ast.expr.GStringExpression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.NotExpression;
+import org.codehaus.groovy.ast.expr.PostfixExpression;
+import org.codehaus.groovy.ast.expr.PrefixExpression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.TernaryExpression;
+import org.codehaus.groovy.ast.expr.UnaryMinusExpression;
+import org.codehaus.groovy.ast.expr.UnaryPlusExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.control.CompilePhase;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Fingerprint of build script AST, comments and formatting do not change it
+ *
+ * @author arsi
+ */
+public class BuildScriptFingerprint extends CodeVisitorSupport {
+
+    private final StringBuilder sb = new StringBuilder();
+
+    private BuildScriptFingerprint() {
+    }
+
+    /**
+     * Compute fingerprint of build script. Groovy scripts are fingerprinted by
+     * AST, Kotlin scripts and gradle.properties by content.
+     *
+     * @param buildScript
+     * @return fingerprint or null when script can not be parsed
+     */
+    public static String compute(FileObject buildScript) {
+        try {
+            if (!"gradle".equals(buildScript.getExt())) {
+                return hash(buildScript.asText("UTF-8"));
+            }
+            AstBuilder builder = new AstBuilder();
+            List<ASTNode> nodes = builder.buildFromString(CompilePhase.CONVERSION, true, buildScript.asText("UTF-8"));
+            BuildScriptFingerprint visitor = new BuildScriptFingerprint();
+            for (ASTNode node : nodes) {
+                node.visit(visitor);
+            }
+            return hash(visitor.sb.toString());
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException ex) {
+            //script is edited and not valid
+            return null;
+        }
+    }
+
+    private static String hash(String text) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private void append(String prefix, Object value) {
+        sb.append(prefix).append(value).append('\u0000');
+    }
+
+    @Override
+    public void visitMethodCallExpression(MethodCallExpression call) {
+        append("m:", call.getMethodAsString());
+        super.visitMethodCallExpression(call);
+    }
+
+    @Override
+    public void visitConstantExpression(ConstantExpression expression) {
+        append("c:", expression.getValue());
+        super.visitConstantExpression(expression);
+    }
+
+    @Override
+    public void visitVariableExpression(VariableExpression expression) {
+        append("v:", expression.getName());
+        super.visitVariableExpression(expression);
+    }
+
+    @Override
+    public void visitPropertyExpression(PropertyExpression expression) {
+        append("p:", expression.getPropertyAsString());
+        super.visitPropertyExpression(expression);
+    }
+
+    @Override
+    public void visitBinaryExpression(BinaryExpression expression) {
+        append("o:", expression.getOperation().getText());
+        super.visitBinaryExpression(expression);
+    }
+
+    @Override
+    public void visitGStringExpression(GStringExpression expression) {
+        append("g:", expression.getText());
+        super.visitGStringExpression(expression);
+    }
+
+    @Override
+    public void visitClosureExpression(ClosureExpression expression) {
+        append("{", "");
+        super.visitClosureExpression(expression);
+        append("}", "");
+    }
+
+    @Override
+    public void visitArgumentlistExpression(ArgumentListExpression ale) {
+        append("(", "");
+        super.visitArgumentlistExpression(ale);
+        append(")", "");
+    }
+
+    @Override
+    public void visitNotExpression(NotExpression expression) {
+        append("!", "");
+        super.visitNotExpression(expression);
+    }
+
+    @Override
+    public void visitUnaryMinusExpression(UnaryMinusExpression expression) {
+        append("-", "");
+        super.visitUnaryMinusExpression(expression);
+    }
+
+    @Override
+    public void visitUnaryPlusExpression(UnaryPlusExpression expression) {
+        append("+", "");
+        super.visitUnaryPlusExpression(expression);
+    }
+
+    @Override
+    public void visitBitwiseNegationExpression(BitwiseNegationExpression expression) {
+        append("~", "");
+        super.visitBitwiseNegationExpression(expression);
+    }
+
+    @Override
+    public void visitPrefixExpression(PrefixExpression expression) {
+        append("pre:", expression.getOperation().getText());
+        super.visitPrefixExpression(expression);
+    }
+
+    @Override
+    public void visitPostfixExpression(PostfixExpression expression) {
+        append("post:", expression.getOperation().getText());
+        super.visitPostfixExpression(expression);
+    }
+
+    @Override
+    public void visitTernaryExpression(TernaryExpression expression) {
+        append("?", "");
+        super.visitTernaryExpression(expression);
+    }
+
+    @Override
+    public void visitShortTernaryExpression(ElvisOperatorExpression expression) {
+        append("?:", "");
+        super.visitShortTernaryExpression(expression);
+    }
+
+    @Override
+    public void visitCastExpression(CastExpression expression) {
+        append("cast:", expression.getType().getName());
+        super.visitCastExpression(expression);
+    }
+
+    @Override
+    public void visitClassExpression(ClassExpression expression) {
+        append("class:", expression.getType().getName());
+        super.visitClassExpression(expression);
+    }
+
+    @Override
+    public void visitConstructorCallExpression(ConstructorCallExpression call) {
+        append("new:", call.getType().getName());
+        super.visitConstructorCallExpression(call);
+    }
+
+}
@@ -19,15 +19,12 @@
 package org.nbandroid.netbeans.gradle.v2.gradle;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.List;
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.CodeVisitorSupport;
-import org.codehaus.groovy.ast.builder.AstBuilder;
 import org.codehaus.groovy.ast.expr.MethodCallExpression;
-import org.gradle.internal.impldep.org.apache.commons.io.IOUtils;
 
 /**
  *
@@ -40,8 +37,11 @@ public class FindAndroidVisitor extends CodeVisitorSupport {
     }
 
     public static final boolean visit(File buildGradle) throws FileNotFoundException, IOException {
-        AstBuilder builder = new AstBuilder();
-        List<ASTNode> nodes = builder.buildFromString(IOUtils.toString(new FileInputStream(buildGradle), "UTF-8"));
+        BuildScriptFacts facts = BuildScriptFacts.get(buildGradle);
+        return facts != null && facts.isAndroid();
+    }
+
+    static boolean visit(List<ASTNode> nodes) {
         FindAndroidVisitor visitor = new FindAndroidVisitor();
         for (ASTNode node : nodes) {
             node.visit(visitor);
@@ -25,16 +25,13 @@ import sk.arsi.netbeans.gradle.android.maven.repository.MavenCentralRepository;
 import sk.arsi.netbeans.gradle.android.maven.repository.MavenRepository;
 import sk.arsi.netbeans.gradle.android.maven.repository.Repository;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.CodeVisitorSupport;
-import org.codehaus.groovy.ast.builder.AstBuilder;
 import org.codehaus.groovy.ast.expr.MethodCallExpression;
-import org.gradle.internal.impldep.org.apache.commons.io.IOUtils;
 
 /**
  *
@@ -49,8 +46,16 @@ public class FindRepositoriesVisitor extends CodeVisitorSupport {
     }
 
     public static final List<Repository> visit(File buildGradle) throws FileNotFoundException, IOException {
-        AstBuilder builder = new AstBuilder();
-        List<ASTNode> nodes = builder.buildFromString(IOUtils.toString(new FileInputStream(buildGradle), "UTF-8"));
+        BuildScriptFacts facts = BuildScriptFacts.get(buildGradle);
+        if (facts == null) {
+            List<Repository> tmp = new ArrayList<>();
+            tmp.add(new AndroidRepository());
+            return tmp;
+        }
+        return facts.getRepositories();
+    }
+
+    static List<Repository> visit(List<ASTNode> nodes) {
         FindRepositoriesVisitor visitor = new FindRepositoriesVisitor();
         for (ASTNode node : nodes) {
             node.visit(visitor);
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.gradle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import nbandroid.gradle.spi.GradleHandler;
+import nbandroid.gradle.spi.ModelRefresh;
+import org.netbeans.api.project.Project;
+import org.netbeans.modules.android.project.api.AndroidProjects;
+import org.openide.filesystems.FileAttributeEvent;
+import org.openide.filesystems.FileChangeListener;
+import org.openide.filesystems.FileEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileRenameEvent;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Reloads Gradle models after build script edits. Edits are debounced per
+ * root project and reload runs only when fingerprint of some script is
+ * changed or the script is deleted. A new reload cancels the running one.
+ *
+ * @author arsi
+ */
+public class ModelReloadCoordinator implements FileChangeListener {
+
+    private static final ModelReloadCoordinator INSTANCE = new ModelReloadCoordinator();
+    private static final RequestProcessor RP = new RequestProcessor(ModelReloadCoordinator.class.getName(), 1);
+    private static final int DEBOUNCE_DELAY = 1500;
+    private static final String[] SCRIPTS = {"build.gradle", "settings.gradle", "build.gradle.kts", "settings.gradle.kts", "gradle.properties"};
+    private static final String MISSING = "missing";
+
+    //keyed by project directory and script name, scripts created later are watched too
+    private final Map<String, ScriptEntry> scripts = new HashMap<>();
+    private final Map<FileObject, Project> directories = new HashMap<>();
+    private final Map<Project, RequestProcessor.Task> rootTasks = new HashMap<>();
+
+    public static ModelReloadCoordinator getDefault() {
+        return INSTANCE;
+    }
+
+    private ModelReloadCoordinator() {
+    }
+
+    public void register(Project project) {
+        Project root = AndroidProjects.findRootProject(project.getProjectDirectory(), project);
+        FileObject dir = project.getProjectDirectory();
+        final List<ScriptEntry> added = new ArrayList<>();
+        synchronized (scripts) {
+            if (directories.containsKey(dir)) {
+                return;
+            }
+            directories.put(dir, project);
+            for (String name : SCRIPTS) {
+                ScriptEntry entry = new ScriptEntry(project, root, dir, name);
+                scripts.put(entry.key, entry);
+                added.add(entry);
+            }
+            //events of scripts as children of directory, including created ones
+            dir.addFileChangeListener(this);
+        }
+        RP.post(new Runnable() {
+            @Override
+            public void run() {
+                for (ScriptEntry entry : added) {
+                    entry.fingerprint = entry.computeFingerprint();
+                }
+            }
+        });
+    }
+
+    public void unregister(Project project) {
+        synchronized (scripts) {
+            for (Iterator<ScriptEntry> it = scripts.values().iterator(); it.hasNext();) {
+                ScriptEntry entry = it.next();
+                if (entry.project.equals(project)) {
+                    it.remove();
+                }
+            }
+            for (Iterator<Map.Entry<FileObject, Project>> it = directories.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<FileObject, Project> entry = it.next();
+                if (entry.getValue().equals(project)) {
+                    entry.getKey().removeFileChangeListener(this);
+                    it.remove();
+                }
+            }
+            RequestProcessor.Task task = rootTasks.remove(project);
+            if (task != null) {
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * Reload models of project after its build script was edited by IDE, ie
+     * batch of dependency edits. Reload is done once even when file events of
+     * edit arrive later.
+     *
+     * @param project
+     */
+    public void reload(Project project) {
+        Project root = null;
+        synchronized (scripts) {
+            for (ScriptEntry entry : scripts.values()) {
+                if (entry.project.equals(project)) {
+                    root = entry.root;
+                    break;
+                }
+            }
+            if (root != null) {
+                scheduleReload(root, 0);
+                return;
+            }
+        }
+        ModelRefresh modelRefresh = project.getLookup().lookup(ModelRefresh.class);
+        if (modelRefresh != null) {
+            modelRefresh.refreshModels();
+        }
+    }
+
+    private void scriptChanged(FileObject script) {
+        FileObject dir = script.getParent();
+        if (dir == null) {
+            return;
+        }
+        synchronized (scripts) {
+            ScriptEntry entry = scripts.get(ScriptEntry.key(dir, script.getNameExt()));
+            if (entry == null) {
+                return;
+            }
+            scheduleReload(entry.root, DEBOUNCE_DELAY);
+        }
+    }
+
+    private void scheduleReload(final Project root, int delay) {
+        synchronized (scripts) {
+            RequestProcessor.Task task = rootTasks.get(root);
+            if (task == null) {
+                task = RP.create(new Runnable() {
+                    @Override
+                    public void run() {
+                        reloadIfChanged(root);
+                    }
+                });
+                rootTasks.put(root, task);
+            }
+            task.schedule(delay);
+        }
+    }
+
+    private void reloadIfChanged(Project root) {
+        List<ScriptEntry> entries = new ArrayList<>();
+        synchronized (scripts) {
+            for (ScriptEntry entry : scripts.values()) {
+                if (entry.root.equals(root)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        Project changed = null;
+        for (ScriptEntry entry : entries) {
+            String fingerprint = entry.computeFingerprint();
+            //null while the script is not valid, reload would fail
+            if (fingerprint != null && !fingerprint.equals(entry.fingerprint)) {
+                entry.fingerprint = fingerprint;
+                changed = entry.project;
+            }
+        }
+        if (changed != null) {
+            //all projects of root are loaded by one build action
+            GradleHandler.getDefault().cancelModelLoading(changed);
+            ModelRefresh modelRefresh = changed.getLookup().lookup(ModelRefresh.class);
+            if (modelRefresh != null) {
+                modelRefresh.refreshModels();
+            }
+        }
+    }
+
+    @Override
+    public void fileChanged(FileEvent fe) {
+        scriptChanged(fe.getFile());
+    }
+
+    @Override
+    public void fileFolderCreated(FileEvent fe) {
+    }
+
+    @Override
+    public void fileDataCreated(FileEvent fe) {
+        scriptChanged(fe.getFile());
+    }
+
+    @Override
+    public void fileDeleted(FileEvent fe) {
+        scriptChanged(fe.getFile());
+    }
+
+    @Override
+    public void fileRenamed(FileRenameEvent fe) {
+        //old name is missing now, new name may be a script
+        FileObject dir = fe.getFile().getParent();
+        if (dir != null) {
+            String ext = fe.getExt();
+            String oldName = ext.isEmpty() ? fe.getName() : fe.getName() + "." + ext;
+            synchronized (scripts) {
+                ScriptEntry entry = scripts.get(ScriptEntry.key(dir, oldName));
+                if (entry != null) {
+                    scheduleReload(entry.root, DEBOUNCE_DELAY);
+                }
+            }
+        }
+        scriptChanged(fe.getFile());
+    }
+
+    @Override
+    public void fileAttributeChanged(FileAttributeEvent fe) {
+    }
+
+    private static final class ScriptEntry {
+
+        private final Project project;
+        private final Project root;
+        private final FileObject dir;
+        private final String name;
+        private final String key;
+        private volatile String fingerprint;
+
+        public ScriptEntry(Project project, Project root, FileObject dir, String name) {
+            this.project = project;
+            this.root = root;
+            this.dir = dir;
+            this.name = name;
+            this.key = key(dir, name);
+        }
+
+        private static String key(FileObject dir, String name) {
+            return dir.getPath() + "/" + name;
+        }
+
+        private String computeFingerprint() {
+            FileObject script = dir.getFileObject(name);
+            if (script == null || !script.isValid()) {
+                return MISSING;
+            }
+            return BuildScriptFingerprint.compute(script);
+        }
+
+    }
+
+}
@@ -19,14 +19,18 @@
 
 package org.nbandroid.netbeans.gradle.v2.gradle.build.parser;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  *
  * @author arsi
  */
-public class AndroidGradleDependencies {
+public class AndroidGradleDependencies implements Serializable {
+
+    private static final long serialVersionUID = 1L;
     private final int firstLine;
     private final int firstColumn;
     private final int lastLine;
@@ -57,7 +61,11 @@ public class AndroidGradleDependencies {
     }
 
     public List<AndroidGradleDependency> getDependencies() {
-        return dependencies;
+        return Collections.unmodifiableList(dependencies);
+    }
+
+    void addDependency(AndroidGradleDependency dependency) {
+        dependencies.add(dependency);
     }
 
 }
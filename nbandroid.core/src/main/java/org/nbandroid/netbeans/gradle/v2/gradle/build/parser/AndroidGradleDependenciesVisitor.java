@@ -59,9 +59,13 @@ public class AndroidGradleDependenciesVisitor extends CodeVisitorSupport {
     private String variableName = null;
 
     public static AndroidGradleDependenciesVisitor parse(File file) throws IOException {
-        AstBuilder builder = new AstBuilder();
+        try (FileInputStream is = new FileInputStream(file)) {
+            return parse(new AstBuilder().buildFromString(IOUtils.toString(is, "UTF-8")));
+        }
+    }
+
+    public static AndroidGradleDependenciesVisitor parse(List<ASTNode> nodes) {
         AndroidGradleDependenciesVisitor visitor = new AndroidGradleDependenciesVisitor();
-        List<ASTNode> nodes = builder.buildFromString(IOUtils.toString(new FileInputStream(file), "UTF-8"));
         for (ASTNode node : nodes) {
             visitor.setRootBlockStatement((BlockStatement) node);
             node.visit(visitor);
@@ -190,7 +194,7 @@ public class AndroidGradleDependenciesVisitor extends CodeVisitorSupport {
             String text = expression.getText();
             if (currentDependency == null) {
                 currentDependency = new AndroidGradleDependency(text, currentBlockStart, currentBlockStartColumn, currentBlockEnd, currentBlockEndColumn);
-                dependencies.getDependencies().add(currentDependency);
+                dependencies.addDependency(currentDependency);
             } else if ("exclude".equals(text)) {
                 excludeMode = true;
             } else if (variableName != null) {
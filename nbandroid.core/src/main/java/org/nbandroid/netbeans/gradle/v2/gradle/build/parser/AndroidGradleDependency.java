@@ -18,6 +18,7 @@
  */
 package org.nbandroid.netbeans.gradle.v2.gradle.build.parser;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,7 +28,9 @@ import java.util.Map;
  *
  * @author arsi
  */
-public class AndroidGradleDependency {
+public class AndroidGradleDependency implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final String type;
     private AndroidDependency androidDependency;
@@ -83,7 +86,9 @@ public class AndroidGradleDependency {
     }
 
 
-    public static class AndroidDependencyExclude {
+    public static class AndroidDependencyExclude implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private final String group;
         private final String module;
@@ -114,7 +119,9 @@ public class AndroidGradleDependency {
         REMOTE_BINARY;
     }
 
-    public static class AndroidDependency {
+    public static class AndroidDependency implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private final AndroidDependencyType type;
 
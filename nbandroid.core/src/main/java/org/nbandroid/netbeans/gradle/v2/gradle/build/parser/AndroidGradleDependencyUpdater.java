@@ -21,17 +21,25 @@ package org.nbandroid.netbeans.gradle.v2.gradle.build.parser;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.swing.text.Document;
 import javax.swing.text.EditorKit;
 import javax.swing.text.Element;
+import org.nbandroid.netbeans.gradle.v2.gradle.BuildScriptFacts;
+import org.nbandroid.netbeans.gradle.v2.gradle.ModelReloadCoordinator;
+import org.netbeans.api.project.Project;
 import org.openide.DialogDisplayer;
 import org.openide.NotifyDescriptor;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
 import org.openide.text.CloneableEditorSupport;
 import org.openide.util.Exceptions;
 
@@ -44,16 +52,44 @@ import org.openide.util.Exceptions;
  */
 public class AndroidGradleDependencyUpdater {
 
+    /**
+     * Start batch of dependency edits of one build script
+     *
+     * @param file build.gradle
+     * @return batch
+     */
+    public static Batch batch(File file) {
+        return new Batch(file);
+    }
+
     public static boolean insertDependencies(File file, Map<String, List<String>> dependencies) {
+        return updateDependencies(file, dependencies, Collections.<String, List<String>>emptyMap());
+    }
+
+    /**
+     * Add and remove dependencies by one write of script, positions of
+     * existing dependencies are taken from cached BuildScriptFacts
+     *
+     * @param file build.gradle
+     * @param dependencies configuration to coordinates to add, modified
+     * @param removals configuration to coordinates to remove
+     * @return true on success
+     */
+    private static boolean updateDependencies(File file, Map<String, List<String>> dependencies, Map<String, List<String>> removals) {
         try {
-            AndroidGradleDependenciesVisitor visitor = AndroidGradleDependenciesVisitor.parse(file);
-            AndroidGradleDependencies androidDependencies = visitor.getDependencies();
+            BuildScriptFacts facts = BuildScriptFacts.get(file);
+            AndroidGradleDependencies androidDependencies = facts != null ? facts.getDependencies() : null;
             if (androidDependencies != null) {
                 List<AndroidGradleDependency> toRemove = new ArrayList<>();
                 List<AndroidGradleDependency> androidDependenciesList = androidDependencies.getDependencies();
                 for (AndroidGradleDependency androidDependency : androidDependenciesList) {
                     if (androidDependency.getAndroidDependency() instanceof AndroidGradleDependency.AndroidRemoteBinaryDependency) {
                         String remoteBinary = ((AndroidGradleDependency.AndroidRemoteBinaryDependency) androidDependency.getAndroidDependency()).getRemoteBinary();
+                        List<String> remove = removals.get(androidDependency.getType());
+                        if (remove != null && remove.contains(remoteBinary)) {
+                            toRemove.add(androidDependency);
+                            continue;
+                        }
                         for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
                             String type = entry.getKey();
                             List<String> mavenUrls = entry.getValue();
@@ -84,7 +120,9 @@ public class AndroidGradleDependencyUpdater {
                 //create the document out of netbeans,there is a problem with gradle subsystem if opened from EditorCookie
                 EditorKit editorKit = CloneableEditorSupport.getEditorKit("text/x-gradle");
                 Document document = editorKit.createDefaultDocument();
-                editorKit.read(new FileInputStream(file), document, 0);
+                try (InputStream is = new FileInputStream(file)) {
+                    editorKit.read(is, document, 0);
+                }
                 List<LineOffsetRecord> removeLines = new ArrayList<>();
                 if (!toRemove.isEmpty()) {
                     for (AndroidGradleDependency toRemoveDep : toRemove) {
@@ -104,24 +142,38 @@ public class AndroidGradleDependencyUpdater {
                     }
                 });
                 int lastLine = androidDependencies.getLastLine();
-                AndroidGradleDependency lastDependency = androidDependenciesList.get(androidDependenciesList.size() - 1);
-                int tabColumn = lastDependency.getFirstColumn() - 1;
-                String spaces = "";
+                int tabColumn = 4;
+                if (!androidDependenciesList.isEmpty()) {
+                    AndroidGradleDependency lastDependency = androidDependenciesList.get(androidDependenciesList.size() - 1);
+                    tabColumn = lastDependency.getFirstColumn() - 1;
+                }
+                StringBuilder spaces = new StringBuilder();
                 for (int i = 0; i < tabColumn; i++) {
-                    spaces += " ";
+                    spaces.append(' ');
                 }
+                //all new lines in one insert before end of dependencies block
+                StringBuilder insert = new StringBuilder();
                 for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
                     String key = entry.getKey();
                     List<String> value = entry.getValue();
                     for (String mavenUrl : value) {
-                        int position = getStartOfLine(document, lastLine);
-                        document.insertString(position, spaces + key + " '" + mavenUrl + "'" + System.lineSeparator(), null);
+                        insert.append(spaces).append(key).append(" '").append(mavenUrl).append("'").append(System.lineSeparator());
                     }
                 }
+                if (insert.length() == 0 && removeLines.isEmpty()) {
+                    return true;
+                }
+                if (insert.length() > 0) {
+                    document.insertString(getStartOfLine(document, lastLine), insert.toString(), null);
+                }
+                //removed lines are above the insert, descending order keeps offsets valid
                 for (LineOffsetRecord removeLine : removeLines) {
                     document.remove(removeLine.line, removeLine.offset);
                 }
-                editorKit.write(new FileOutputStream(file), document, 0, document.getLength());
+                FileObject fo = FileUtil.toFileObject(FileUtil.normalizeFile(file));
+                try (OutputStream os = fo != null ? fo.getOutputStream() : new FileOutputStream(file)) {
+                    editorKit.write(os, document, 0, document.getLength());
+                }
                 return true;
             }
 
@@ -131,6 +183,73 @@ public class AndroidGradleDependencyUpdater {
         return false;
     }
 
+    /**
+     * Dependency additions and removals applied to script in one write,
+     * followed by one model reload
+     */
+    public static final class Batch {
+
+        private final File file;
+        private final Map<String, List<String>> additions = new LinkedHashMap<>();
+        private final Map<String, List<String>> removals = new LinkedHashMap<>();
+
+        private Batch(File file) {
+            this.file = file;
+        }
+
+        public Batch add(String configuration, String coordinate) {
+            put(additions, configuration, coordinate);
+            return this;
+        }
+
+        public Batch remove(String configuration, String coordinate) {
+            put(removals, configuration, coordinate);
+            return this;
+        }
+
+        private static void put(Map<String, List<String>> map, String configuration, String coordinate) {
+            List<String> tmp = map.get(configuration);
+            if (tmp == null) {
+                tmp = new ArrayList<>();
+                map.put(configuration, tmp);
+            }
+            if (!tmp.contains(coordinate)) {
+                tmp.add(coordinate);
+            }
+        }
+
+        /**
+         * Apply edits to script
+         *
+         * @return true on success
+         */
+        public boolean commit() {
+            if (additions.isEmpty() && removals.isEmpty()) {
+                return true;
+            }
+            Map<String, List<String>> tmp = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> entry : additions.entrySet()) {
+                tmp.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+            return updateDependencies(file, tmp, removals);
+        }
+
+        /**
+         * Apply edits to script and reload models of project once
+         *
+         * @param project owner of script
+         * @return true on success
+         */
+        public boolean commit(Project project) {
+            boolean ok = commit();
+            if (ok) {
+                ModelReloadCoordinator.getDefault().reload(project);
+            }
+            return ok;
+        }
+
+    }
+
     public static class LineOffsetRecord {
 
         final int line;
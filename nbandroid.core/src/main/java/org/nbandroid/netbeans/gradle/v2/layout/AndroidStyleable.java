@@ -27,13 +27,16 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.lang.model.element.TypeElement;
 import javax.swing.Action;
@@ -72,6 +75,11 @@ import org.openide.util.Lookup;
  */
 public class AndroidStyleable implements Serializable, CompletionItem {
 
+    /**
+     * Incremented on every change of super styleable, invalidates flattened
+     * attributes of all styleables
+     */
+    private static final AtomicInteger HIERARCHY_MODCOUNT = new AtomicInteger();
     private final AndroidStyleableNamespace nameSpace;
     private final String nameSpacePath;
     private final String name;
@@ -84,6 +92,7 @@ public class AndroidStyleable implements Serializable, CompletionItem {
     private transient String lowerCaseFullClassName = null;
     private transient String lowerCaseName = null;
     private transient String upperCaseLetters = null;
+    private transient volatile FlatAttrs flatAttrs = null;
 
     public AndroidStyleable(AndroidStyleableNamespace nameSpace, String name) {
         this.nameSpace = nameSpace;
@@ -186,22 +195,52 @@ public class AndroidStyleable implements Serializable, CompletionItem {
      */
     public List<AttrCompletionItem> getAllAttrs(HashMap<String, String> declaredNamespaces) {
         Map<String, String> nameSpaces = declaredNamespaces.entrySet().stream().collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
-        List<AttrCompletionItem> tmp = new ArrayList<>();
+        FlatAttrs flat = getFlatAttrs();
+        List<AttrCompletionItem> tmp = new ArrayList<>(flat.attrs.length);
+        Set<AttrCompletionItem> added = new HashSet<>();
+        for (int i = 0; i < flat.attrs.length; i++) {
+            AndroidStyleable owner = flat.owners[i];
+            AttrCompletionItem item = new AttrCompletionItem(owner, flat.attrs[i], nameSpaces.get(owner.nameSpace.getNamespace()));
+            //own attributes are not deduplicated
+            if (added.add(item) || owner == this) {
+                tmp.add(item);
+            }
+        }
+        return tmp;
+    }
+
+    /**
+     * Attributes of this styleable and its super classes, flattened once per
+     * hierarchy change
+     *
+     * @return
+     */
+    private FlatAttrs getFlatAttrs() {
+        int modCount = HIERARCHY_MODCOUNT.get();
+        FlatAttrs flat = flatAttrs;
+        if (flat != null && flat.modCount == modCount) {
+            return flat;
+        }
+        List<AndroidStyleable> owners = new ArrayList<>();
+        List<AndroidStyleableAttr> flatten = new ArrayList<>();
         for (AndroidStyleableAttr attr : attrs) {
-            tmp.add(new AttrCompletionItem(this, attr, nameSpaces.get(nameSpace.getNamespace())));
+            owners.add(this);
+            flatten.add(attr);
         }
+        Set<String> keys = new HashSet<>();
         AndroidStyleable superLoad = superStyleable;
-        while (superLoad != null) {
-            List<AndroidStyleableAttr> attrsSuper = superLoad.getAttrs();
-            for (AndroidStyleableAttr attr : attrsSuper) {
-                AttrCompletionItem item = new AttrCompletionItem(superLoad, attr, nameSpaces.get(superLoad.nameSpace.getNamespace()));
-                if (!tmp.contains(item)) {
-                    tmp.add(item);
+        while (superLoad != null && superLoad != this) {
+            for (AndroidStyleableAttr attr : superLoad.getAttrs()) {
+                if (keys.add(superLoad.nameSpacePath + ":" + attr.getName())) {
+                    owners.add(superLoad);
+                    flatten.add(attr);
                 }
             }
             superLoad = superLoad.getSuperStyleable();
         }
-        return tmp;
+        flat = new FlatAttrs(modCount, owners.toArray(new AndroidStyleable[owners.size()]), flatten.toArray(new AndroidStyleableAttr[flatten.size()]));
+        flatAttrs = flat;
+        return flat;
     }
 
     public List<AndroidStyleable> findLayoutParams() {
@@ -246,7 +285,10 @@ public class AndroidStyleable implements Serializable, CompletionItem {
     }
 
     public void setSuperStyleable(AndroidStyleable superStyleable) {
-        this.superStyleable = superStyleable;
+        if (this.superStyleable != superStyleable) {
+            this.superStyleable = superStyleable;
+            HIERARCHY_MODCOUNT.incrementAndGet();
+        }
     }
 
     public AndroidStyleableType getAndroidStyleableType() {
@@ -526,4 +568,16 @@ public class AndroidStyleable implements Serializable, CompletionItem {
         }
     }
 
+    private static final class FlatAttrs {
+
+        private final int modCount;
+        private final AndroidStyleable[] owners;
+        private final AndroidStyleableAttr[] attrs;
+
+        private FlatAttrs(int modCount, AndroidStyleable[] owners, AndroidStyleableAttr[] attrs) {
+            this.modCount = modCount;
+            this.owners = owners;
+            this.attrs = attrs;
+        }
+    }
 }
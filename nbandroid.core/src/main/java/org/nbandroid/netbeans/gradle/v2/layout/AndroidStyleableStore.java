@@ -27,8 +27,10 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
@@ -71,6 +73,18 @@ public class AndroidStyleableStore {
     private static final File cacheSubfile = Places.getCacheSubfile(NBANDROID_FOLDER + STYLEABLE_CACHE_FILENAME_STRING);
     public static final ScheduledExecutorService POOL = Executors.newScheduledThreadPool(1);
     private static final AtomicBoolean saveFlag = new AtomicBoolean(false);
+    private static final int HIERARCHY_CACHE_SIZE = 8;
+    /**
+     * Resolved super styleable hierarchy per classpath, valid only for
+     * namespace instances it was built from, cleared when a namespace is
+     * parsed again
+     */
+    private static final Map<String, StyleableHierarchy> HIERARCHY_CACHE = new LinkedHashMap<String, StyleableHierarchy>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StyleableHierarchy> eldest) {
+            return size() > HIERARCHY_CACHE_SIZE;
+        }
+    };
 
     static {
         if (cacheSubfile.exists()) {
@@ -85,12 +99,23 @@ public class AndroidStyleableStore {
     }
 
     public static Map<String, AndroidStyleableNamespace> findNamespaces(FileObject primaryFile) {
+        return findNamespaces(FileOwnerQuery.getOwner(primaryFile));
+    }
+
+    /**
+     * Find platform and library namespaces of project, parsed namespaces are
+     * cached
+     *
+     * @param owner
+     * @return
+     */
+    public static Map<String, AndroidStyleableNamespace> findNamespaces(Project owner) {
         LOCK.lock();
         try {
 //            PLATFORM_STYLEABLE_NAMESPACES_MAP.clear();
 //            LIBS_STYLEABLE_NAMESPACES_MAP.clear();
             Map<String, AndroidStyleableNamespace> namespaces = new HashMap<>();
-            Project owner = FileOwnerQuery.getOwner(primaryFile);
+            StringBuilder classpathKey = new StringBuilder();
             if (owner instanceof NbAndroidProject) {
                 AndroidStyleableNamespace platformNamespace = null;
                 AndroidProject androidProject = owner.getLookup().lookup(AndroidProject.class);
@@ -102,6 +127,7 @@ public class AndroidStyleableStore {
                         if (namespace != null) {
                             platformNamespace = namespace;
                             namespaces.put(namespace.getNamespace(), namespace);
+                            classpathKey.append(platform.getPlatformFolder()).append('|');
                         }
                     }
                 }
@@ -113,6 +139,7 @@ public class AndroidStyleableStore {
                     for (ClassPath.Entry entrie : entries) {
                         FileObject root = entrie.getRoot();
                         FileObject jarOrAarDir = FileUtil.getArchiveFile(root);
+                        classpathKey.append(entrie.getURL()).append('|');
                         if (jarOrAarDir.getPath().contains(".aar")) {
                             //exploded arr structure
                             //find root folder
@@ -146,53 +173,24 @@ public class AndroidStyleableStore {
                 }
             }
             if (!todos.isEmpty()) {
-                Map<String, StyleableResultCollector> fullNameClassMap = new HashMap<>();
-                Map<String, AndroidStyleable> fullStyleableMap = new HashMap<>();
-                for (Map.Entry<String, AndroidStyleableNamespace> entry : namespaces.entrySet()) {
-                    AndroidStyleableNamespace namespace = entry.getValue();
-                    namespace.addAllFullClassNamesTo(fullNameClassMap);
-                    namespace.addAllStyleablesTo(fullStyleableMap);
+                String key = classpathKey.toString();
+                StyleableHierarchy hierarchy = HIERARCHY_CACHE.get(key);
+                if (hierarchy == null) {
+                    hierarchy = new StyleableHierarchy(namespaces.values());
+                    HIERARCHY_CACHE.put(key, hierarchy);
                 }
                 for (AndroidStyleableNamespace namespace : todos) {
                     Iterator<AndroidStyleable> iterator = namespace.getTodo().iterator();
                     while (iterator.hasNext()) {
                         AndroidStyleable styleable = iterator.next();
-                        AndroidStyleable superStyleable = fullStyleableMap.get(styleable.getSuperStyleableName());
+                        AndroidStyleable superStyleable = hierarchy.findSuperStyleable(styleable);
+                        iterator.remove();
                         if (superStyleable != null) {
                             styleable.setSuperStyleable(superStyleable);
                             styleable.setAndroidStyleableType(superStyleable.getAndroidStyleableType());
-                            iterator.remove();
                             reorderStyleable(styleable, namespace);
-                            fullStyleableMap.put(styleable.getFullClassName(), styleable);
                         } else {
-                            //handle from full name class map
-                            String superClassName = styleable.getSuperStyleableName();
-                            if (superClassName == null) {
-                                StyleableResultCollector result = fullNameClassMap.get(styleable.getFullClassName());
-                                if (result != null) {
-                                    superClassName = result.getSuperClassName();
-                                }
-                            }
-                            if (superClassName == null) {
-                                iterator.remove();
-                                namespace.getUknown().add(styleable);
-                            }
-                            while (superStyleable == null && superClassName != null) {
-                                StyleableResultCollector collector = fullNameClassMap.get(superClassName);
-                                if (collector == null) {
-                                    iterator.remove();
-                                    namespace.getUknown().add(styleable);
-                                    break;
-                                }
-                                superClassName = collector.getSuperClassName();
-                                superStyleable = fullStyleableMap.get(superClassName);
-                            }
-                            if (superStyleable != null) {
-                                styleable.setSuperStyleable(superStyleable);
-                                styleable.setAndroidStyleableType(superStyleable.getAndroidStyleableType());
-                                reorderStyleable(styleable, namespace);
-                            }
-
+                            namespace.getUknown().add(styleable);
                         }
                     }
                 }
@@ -217,6 +215,7 @@ public class AndroidStyleableStore {
                     AndroidStyleableNamespace libNamespace = new AndroidStyleableNamespace(RES_AUTO_NAMESPACE, null);
                     StyleableXmlParser.parseAar(libNamespace, platformNamespace, root, attrFo);
                     LIBS_STYLEABLE_NAMESPACES_MAP.put(jarOrAarDir.getPath(), libNamespace);
+                    namespacesChanged();
                     libNamespace.mergeTo(namespace);
                 } else {
                     cachedNamespace.mergeTo(namespace);
@@ -256,6 +255,7 @@ public class AndroidStyleableStore {
             if (namespace == null) {
                 namespace = StyleableXmlParser.parseAndroidPlatform(androidJavaPlatform);
                 PLATFORM_STYLEABLE_NAMESPACES_MAP.put(androidJavaPlatform.getPlatformFolder().toString(), namespace);
+                namespacesChanged();
                 if (saveFlag.compareAndSet(false, true)) {
                     POOL.schedule(new Runnable() {
                         @Override
@@ -281,6 +281,14 @@ public class AndroidStyleableStore {
         }
     }
 
+    /**
+     * New namespace instances replace styleables referenced by cached
+     * hierarchies, called with LOCK held
+     */
+    private static void namespacesChanged() {
+        HIERARCHY_CACHE.clear();
+    }
+
     /**
      * Remove invalid platforms from map
      */
@@ -351,4 +359,117 @@ public class AndroidStyleableStore {
         }
     }
 
+    /**
+     * Class hierarchy of all namespaces of one classpath stored as parent
+     * index array. Nearest super styleable of each class is resolved lazily
+     * and memoized.
+     */
+    private static final class StyleableHierarchy {
+
+        private static final int UNKNOWN = -1;
+        private static final int NOT_RESOLVED = -2;
+        private static final int IN_PROGRESS = -3;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final int[] parents;
+        private final int[] resolved;
+        private final AndroidStyleable[] styleables;
+        private final AndroidStyleable[] todos;
+
+        private StyleableHierarchy(Collection<AndroidStyleableNamespace> namespaces) {
+            Map<String, StyleableResultCollector> fullNameClassMap = new HashMap<>();
+            Map<String, AndroidStyleable> fullStyleableMap = new HashMap<>();
+            Map<String, AndroidStyleable> todoMap = new HashMap<>();
+            for (AndroidStyleableNamespace namespace : namespaces) {
+                namespace.addAllFullClassNamesTo(fullNameClassMap);
+                namespace.addAllStyleablesTo(fullStyleableMap);
+                for (AndroidStyleable styleable : namespace.getTodo()) {
+                    if (styleable.getFullClassName() != null) {
+                        todoMap.putIfAbsent(styleable.getFullClassName(), styleable);
+                    }
+                }
+            }
+            List<String> names = new ArrayList<>(fullNameClassMap.keySet());
+            for (String name : fullStyleableMap.keySet()) {
+                if (!fullNameClassMap.containsKey(name)) {
+                    names.add(name);
+                }
+            }
+            for (String name : todoMap.keySet()) {
+                if (!fullNameClassMap.containsKey(name) && !fullStyleableMap.containsKey(name)) {
+                    names.add(name);
+                }
+            }
+            int size = names.size();
+            for (int i = 0; i < size; i++) {
+                indexes.put(names.get(i), i);
+            }
+            parents = new int[size];
+            resolved = new int[size];
+            styleables = new AndroidStyleable[size];
+            todos = new AndroidStyleable[size];
+            for (int i = 0; i < size; i++) {
+                String name = names.get(i);
+                StyleableResultCollector collector = fullNameClassMap.get(name);
+                parents[i] = collector != null ? indexOf(collector.getSuperClassName()) : UNKNOWN;
+                resolved[i] = NOT_RESOLVED;
+                styleables[i] = fullStyleableMap.get(name);
+                todos[i] = todoMap.get(name);
+            }
+        }
+
+        private int indexOf(String className) {
+            if (className == null) {
+                return UNKNOWN;
+            }
+            Integer index = indexes.get(className);
+            return index != null ? index : UNKNOWN;
+        }
+
+        /**
+         * Find nearest known styleable in super classes of styleable
+         *
+         * @param styleable
+         * @return super styleable or null if the hierarchy is unknown
+         */
+        private AndroidStyleable findSuperStyleable(AndroidStyleable styleable) {
+            int start = indexOf(styleable.getSuperStyleableName());
+            if (styleable.getSuperStyleableName() == null) {
+                int self = indexOf(styleable.getFullClassName());
+                start = self != UNKNOWN ? parents[self] : UNKNOWN;
+            }
+            int found = resolveInclusive(start);
+            if (found == UNKNOWN) {
+                return null;
+            }
+            return styleables[found] != null ? styleables[found] : todos[found];
+        }
+
+        /**
+         * Index of nearest styleable starting at class index, memoized
+         */
+        private int resolveInclusive(int index) {
+            if (index == UNKNOWN) {
+                return UNKNOWN;
+            }
+            int result = resolved[index];
+            if (result == IN_PROGRESS) {
+                //cycle in hierarchy
+                return UNKNOWN;
+            }
+            if (result != NOT_RESOLVED) {
+                return result;
+            }
+            resolved[index] = IN_PROGRESS;
+            if (styleables[index] != null) {
+                result = index;
+            } else if (todos[index] != null && findSuperStyleable(todos[index]) != null) {
+                //styleable with resolvable super is valid super styleable for sub classes
+                result = index;
+            } else {
+                result = resolveInclusive(parents[index]);
+            }
+            resolved[index] = result;
+            return result;
+        }
+    }
 }
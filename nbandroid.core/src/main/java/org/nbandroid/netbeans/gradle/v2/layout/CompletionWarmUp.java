@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.layout;
+
+import com.android.builder.model.AndroidProject;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.nbandroid.netbeans.gradle.v2.layout.parsers.AndroidResourceIndex;
+import org.nbandroid.netbeans.gradle.v2.sdk.java.platform.AndroidJavaPlatform;
+import org.nbandroid.netbeans.gradle.v2.sdk.java.platform.AndroidJavaPlatformProvider;
+import org.netbeans.api.progress.ProgressHandle;
+import org.netbeans.modules.android.project.api.NbAndroidProject;
+import org.openide.util.Cancellable;
+import org.openide.util.Lookup;
+import org.openide.util.LookupEvent;
+import org.openide.util.LookupListener;
+import org.openide.util.RequestProcessor;
+import org.openide.util.WeakListeners;
+
+/**
+ * Prepare layout completion data in background after Gradle model of project
+ * arrives, so the first completion query does not parse platform and AARs.
+ *
+ * @author arsi
+ */
+public class CompletionWarmUp implements LookupListener, Runnable, Cancellable {
+
+    private static final Logger LOG = Logger.getLogger(CompletionWarmUp.class.getName());
+    private static final RequestProcessor RP = new RequestProcessor("Android completion warm-up", 1, true);
+    private static final int WARMUP_DELAY = 2000;
+
+    private final NbAndroidProject project;
+    private final Lookup.Result<AndroidProject> lookupResult;
+    private final RequestProcessor.Task task;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile boolean cancelled = false;
+
+    public CompletionWarmUp(NbAndroidProject project) {
+        this.project = project;
+        task = RP.create(this);
+        task.setPriority(Thread.MIN_PRIORITY);
+        lookupResult = project.getLookup().lookupResult(AndroidProject.class);
+        lookupResult.addLookupListener(WeakListeners.create(LookupListener.class, this, lookupResult));
+        resultChanged(null);
+    }
+
+    @Override
+    public void resultChanged(LookupEvent ev) {
+        Collection<? extends AndroidProject> allInstances = lookupResult.allInstances();
+        if (!allInstances.isEmpty() && !cancelled && scheduled.compareAndSet(false, true)) {
+            task.schedule(WARMUP_DELAY);
+        }
+    }
+
+    @Override
+    public void run() {
+        AndroidProject androidProject = project.getLookup().lookup(AndroidProject.class);
+        if (cancelled || androidProject == null || androidProject.getBootClasspath().isEmpty()) {
+            return;
+        }
+        ProgressHandle handle = ProgressHandle.createHandle("Preparing Android completion for " + project.getProjectDirectory().getName(), this);
+        handle.start(3);
+        try {
+            handle.progress("Android platform", 0);
+            String next = androidProject.getBootClasspath().iterator().next();
+            AndroidJavaPlatform platform = AndroidJavaPlatformProvider.findPlatform(next, androidProject.getCompileTarget());
+            if (platform != null) {
+                AndroidStyleableStore.getPlatformStyleableNamespace(platform);
+            }
+            if (cancelled || Thread.interrupted()) {
+                return;
+            }
+            handle.progress("Libraries", 1);
+            AndroidStyleableStore.findNamespaces(project);
+            if (cancelled || Thread.interrupted()) {
+                return;
+            }
+            handle.progress("Resources", 2);
+            AndroidResourceIndex index = project.getLookup().lookup(AndroidResourceIndex.class);
+            if (index != null) {
+                index.waitFinished();
+            }
+            handle.progress(3);
+        } catch (RuntimeException ex) {
+            //completion will try again on demand
+            LOG.log(Level.INFO, "Completion warm-up failed", ex);
+        } finally {
+            handle.finish();
+        }
+    }
+
+    @Override
+    public boolean cancel() {
+        cancelled = true;
+        task.cancel();
+        return true;
+    }
+
+}
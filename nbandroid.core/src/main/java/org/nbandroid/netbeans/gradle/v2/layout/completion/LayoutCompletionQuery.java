@@ -21,8 +21,10 @@ package org.nbandroid.netbeans.gradle.v2.layout.completion;
 import com.android.builder.model.AndroidProject;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
@@ -263,14 +265,10 @@ public class LayoutCompletionQuery extends AsyncCompletionQuery {
             return;
         }
         tmpAttrs.addAll(styleable.getAllAttrs(declaredNamespaces));
+        Set<AttrCompletionItem> added = new HashSet<>(tmpAttrs);
         List<AndroidStyleable> allLayoutParams = styleable.findAllLayoutParams();
         for (AndroidStyleable currentP : allLayoutParams) {
-            List<AttrCompletionItem> allAttrs = currentP.getAllAttrs(declaredNamespaces);
-            for (AttrCompletionItem allAttr : allAttrs) {
-                if (!tmpAttrs.contains(allAttr)) {
-                    tmpAttrs.add(allAttr);
-                }
-            }
+            addNewAttrs(tmpAttrs, added, currentP.getAllAttrs(declaredNamespaces));
         }
         AndroidStyleable parentStyleable = null;
         if (pathFromRoot.size() > 1) {
@@ -280,12 +278,7 @@ public class LayoutCompletionQuery extends AsyncCompletionQuery {
                 parentStyleable = findStyleable(attributeRoot, namespacesIn);
                 List<AndroidStyleable> findAllLayoutParams = parentStyleable.findAllLayoutParams();
                 for (AndroidStyleable superS : findAllLayoutParams) {
-                    List<AttrCompletionItem> allAttrs = superS.getAllAttrs(declaredNamespaces);
-                    for (AttrCompletionItem allAttr : allAttrs) {
-                        if (!tmpAttrs.contains(allAttr)) {
-                            tmpAttrs.add(allAttr);
-                        }
-                    }
+                    addNewAttrs(tmpAttrs, added, superS.getAllAttrs(declaredNamespaces));
                 }
             }
 
@@ -295,12 +288,7 @@ public class LayoutCompletionQuery extends AsyncCompletionQuery {
             if (superStyleable != null) {
                 List<AndroidStyleable> findAllLayoutParams = superStyleable.findAllLayoutParams();
                 for (AndroidStyleable superS : findAllLayoutParams) {
-                    List<AttrCompletionItem> allAttrs = superS.getAllAttrs(declaredNamespaces);
-                    for (AttrCompletionItem allAttr : allAttrs) {
-                        if (!tmpAttrs.contains(allAttr)) {
-                            tmpAttrs.add(allAttr);
-                        }
-                    }
+                    addNewAttrs(tmpAttrs, added, superS.getAllAttrs(declaredNamespaces));
                 }
             }
         }
@@ -316,6 +304,14 @@ public class LayoutCompletionQuery extends AsyncCompletionQuery {
         }
     }
 
+    private static void addNewAttrs(List<AttrCompletionItem> tmpAttrs, Set<AttrCompletionItem> added, List<AttrCompletionItem> attrs) {
+        for (AttrCompletionItem attr : attrs) {
+            if (added.add(attr)) {
+                tmpAttrs.add(attr);
+            }
+        }
+    }
+
     public AndroidStyleable findStyleable(String attributeRoot, Map<String, AndroidStyleableNamespace> namespacesIn) {
         AndroidStyleable styleable = null;
         if (!attributeRoot.contains(".")) {
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.layout.parsers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.nbandroid.netbeans.gradle.v2.layout.values.completion.AndroidValueType;
+import org.nbandroid.netbeans.gradle.v2.layout.values.completion.BasicValuesCompletionItem;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Streaming parser of res/values files
+ *
+ * @author arsi
+ */
+public class AndroidResValuesParser {
+
+    private static final XMLInputFactory FACTORY;
+
+    static {
+        FACTORY = XMLInputFactory.newInstance();
+        FACTORY.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    }
+
+    private AndroidResValuesParser() {
+    }
+
+    /**
+     * Parse one values file into compact value table
+     *
+     * @param fo values xml file
+     * @return values declared directly under &lt;resources&gt;, in document
+     * order
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    public static List<BasicValuesCompletionItem> parse(FileObject fo) throws IOException, XMLStreamException {
+        try (InputStream is = fo.getInputStream()) {
+            return parse(is);
+        }
+    }
+
+    public static List<BasicValuesCompletionItem> parse(InputStream is) throws XMLStreamException {
+        ArrayList<BasicValuesCompletionItem> tmp = new ArrayList<>();
+        XMLStreamReader reader;
+        synchronized (FACTORY) {
+            reader = FACTORY.createXMLStreamReader(is);
+        }
+        try {
+            int depth = 0;
+            boolean resources = false;
+            String comment = "";
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        if (depth == 1) {
+                            resources = "resources".equals(reader.getLocalName());
+                        } else if (depth == 2 && resources) {
+                            String nodeName = reader.getLocalName();
+                            AndroidValueType type = toValueType(nodeName);
+                            if ("eat-comment".equals(nodeName)) {
+                                comment = "";
+                            } else if (type != null) {
+                                String name = reader.getAttributeValue(null, "name");
+                                String value;
+                                if (type == AndroidValueType.SYMBOL || type == AndroidValueType.ITEM) {
+                                    value = reader.getAttributeValue(null, "type");
+                                    skipElement(reader);
+                                } else {
+                                    value = readText(reader);
+                                }
+                                //element was consumed including end tag
+                                depth--;
+                                if (name != null && value != null) {
+                                    tmp.add(BasicValuesCompletionItem.create(type, name, value, comment));
+                                }
+                                comment = "";
+                            }
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                        if (depth == 1 && resources) {
+                            if (!"".equals(comment)) {
+                                comment += "\n";
+                            }
+                            comment += reader.getText();
+                        }
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        if (tmp.isEmpty()) {
+            return Collections.emptyList();
+        }
+        tmp.trimToSize();
+        return tmp;
+    }
+
+    private static AndroidValueType toValueType(String nodeName) {
+        switch (nodeName) {
+            case "string":
+                return AndroidValueType.STRING;
+            case "integer":
+                return AndroidValueType.INTEGER;
+            case "bool":
+                return AndroidValueType.BOOL;
+            case "color":
+                return AndroidValueType.COLOR;
+            case "dimen":
+                return AndroidValueType.DIMEN;
+            case "java-symbol":
+                return AndroidValueType.SYMBOL;
+            case "item":
+                return AndroidValueType.ITEM;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Text content of current element, same as DOM Node.getTextContent()
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder sb = new StringBuilder();
+        int level = 1;
+        while (level > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    level++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    level--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    sb.append(reader.getText());
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int level = 1;
+        while (level > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    level++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    level--;
+                    break;
+            }
+        }
+    }
+
+}
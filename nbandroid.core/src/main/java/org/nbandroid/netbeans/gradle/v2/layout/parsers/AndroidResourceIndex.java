@@ -0,0 +1,510 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.layout.parsers;
+
+import com.android.builder.model.AndroidLibrary;
+import com.android.builder.model.AndroidProject;
+import com.android.builder.model.BuildTypeContainer;
+import com.android.builder.model.ProductFlavorContainer;
+import com.android.builder.model.Variant;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.xml.stream.XMLStreamException;
+import org.nbandroid.netbeans.gradle.config.ProductFlavors;
+import org.nbandroid.netbeans.gradle.v2.layout.values.completion.AndroidValueType;
+import org.nbandroid.netbeans.gradle.v2.layout.values.completion.BasicValuesCompletionItem;
+import org.netbeans.api.project.Project;
+import org.netbeans.modules.android.project.build.BuildVariant;
+import org.openide.filesystems.FileAttributeEvent;
+import org.openide.filesystems.FileChangeListener;
+import org.openide.filesystems.FileEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileRenameEvent;
+import org.openide.filesystems.FileUtil;
+import org.openide.util.ChangeSupport;
+import org.openide.util.Lookup;
+import org.openide.util.LookupEvent;
+import org.openide.util.LookupListener;
+import org.openide.util.RequestProcessor;
+import org.openide.util.WeakListeners;
+
+/**
+ * Project wide index of resource values. Covers all source sets of current
+ * build variant, generated res folders and res folders of exploded AARs.
+ * Index is updated incrementally from file events on single thread, readers
+ * get immutable snapshots.
+ *
+ * @author arsi
+ */
+public class AndroidResourceIndex implements FileChangeListener, LookupListener, ChangeListener {
+
+    private static final Logger LOG = Logger.getLogger(AndroidResourceIndex.class.getName());
+    private static final RequestProcessor RP = new RequestProcessor("RES INDEX", 1);
+    private static final int FILE_REPARSE_DELAY = 300;
+
+    private final Project nbProject;
+    private final BuildVariant buildVariant;
+    private final Lookup.Result<AndroidProject> lookupResult;
+    private final ChangeSupport cs = new ChangeSupport(this);
+    private volatile AndroidProject androidProject = null;
+    //res roots -> listener
+    private final Map<File, FileChangeListener> roots = new LinkedHashMap<>();
+    //values of one file, reverse lookup
+    private final Map<FileObject, List<BasicValuesCompletionItem>> fileValues = new ConcurrentHashMap<>();
+    private final Map<FileObject, RequestProcessor.Task> pending = new HashMap<>();
+    //completionText -> items from all files, first one is visible
+    private final Map<AndroidValueType, Map<String, List<BasicValuesCompletionItem>>> typeIndex = new EnumMap<>(AndroidValueType.class);
+    private final Set<AndroidValueType> dirtyTypes = EnumSet.noneOf(AndroidValueType.class);
+    //precomputed views, replaced on every index update
+    private final Map<AndroidValueType, TypeSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final RequestProcessor.Task rootsTask = RP.create(new Runnable() {
+        @Override
+        public void run() {
+            updateRoots();
+        }
+    });
+
+    public AndroidResourceIndex(Project nbProject, BuildVariant buildVariant) {
+        this.nbProject = nbProject;
+        this.buildVariant = buildVariant;
+        buildVariant.addChangeListener(WeakListeners.change(this, buildVariant));
+        lookupResult = nbProject.getLookup().lookupResult(AndroidProject.class);
+        lookupResult.addLookupListener(WeakListeners.create(LookupListener.class, this, lookupResult));
+        resultChanged(null);
+    }
+
+    /**
+     * Deduplicated values of type
+     *
+     * @param type
+     * @return unmodifiable precomputed view
+     */
+    public List<BasicValuesCompletionItem> getValues(AndroidValueType type) {
+        TypeSnapshot snapshot = snapshots.get(type);
+        return snapshot != null ? snapshot.items : Collections.emptyList();
+    }
+
+    /**
+     * Deduplicated values of all types
+     *
+     * @return
+     */
+    public List<BasicValuesCompletionItem> getAllValues() {
+        List<BasicValuesCompletionItem> tmp = new ArrayList<>();
+        for (TypeSnapshot snapshot : snapshots.values()) {
+            tmp.addAll(snapshot.items);
+        }
+        return tmp;
+    }
+
+    /**
+     * Visible value of type with name
+     *
+     * @param type
+     * @param name resource name without type prefix
+     * @return value or null
+     */
+    public BasicValuesCompletionItem findByName(AndroidValueType type, String name) {
+        TypeSnapshot snapshot = snapshots.get(type);
+        return snapshot != null ? snapshot.byName.get(name) : null;
+    }
+
+    /**
+     * Values of type with name starting with prefix, ordered by name
+     *
+     * @param type
+     * @param prefix
+     * @return
+     */
+    public Collection<BasicValuesCompletionItem> findByPrefix(AndroidValueType type, String prefix) {
+        TypeSnapshot snapshot = snapshots.get(type);
+        if (snapshot == null) {
+            return Collections.emptyList();
+        }
+        if (prefix == null || prefix.isEmpty()) {
+            return snapshot.byName.values();
+        }
+        return snapshot.byName.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    /**
+     * Reverse lookup, resources declared in file
+     *
+     * @param fo
+     * @return
+     */
+    public List<BasicValuesCompletionItem> getResources(FileObject fo) {
+        return fileValues.getOrDefault(fo, Collections.emptyList());
+    }
+
+    /**
+     * Res roots currently covered by index
+     *
+     * @return
+     */
+    public Set<File> getResRoots() {
+        synchronized (roots) {
+            return new LinkedHashSet<>(roots.keySet());
+        }
+    }
+
+    /**
+     * Listen on index changes
+     *
+     * @param listener
+     */
+    public void addChangeListener(ChangeListener listener) {
+        cs.addChangeListener(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        cs.removeChangeListener(listener);
+    }
+
+    /**
+     * Block until pending root scan is finished
+     */
+    public void waitFinished() {
+        rootsTask.waitFinished();
+    }
+
+    @Override
+    public void resultChanged(LookupEvent ev) {
+        Collection<? extends AndroidProject> allInstances = lookupResult.allInstances();
+        if (!allInstances.isEmpty()) {
+            androidProject = allInstances.iterator().next();
+            rootsTask.schedule(0);
+        }
+    }
+
+    @Override
+    public void stateChanged(ChangeEvent e) {
+        if (androidProject != null) {
+            rootsTask.schedule(0);
+        }
+    }
+
+    private Set<File> findResRoots() {
+        Set<File> tmp = new LinkedHashSet<>();
+        AndroidProject model = androidProject;
+        if (model == null) {
+            return tmp;
+        }
+        tmp.addAll(model.getDefaultConfig().getSourceProvider().getResDirectories());
+        Variant variant = buildVariant.getCurrentVariant();
+        if (variant != null) {
+            for (String f : variant.getProductFlavors()) {
+                ProductFlavorContainer flavor = ProductFlavors.findFlavorByName(model.getProductFlavors(), f);
+                if (flavor != null) {
+                    tmp.addAll(flavor.getSourceProvider().getResDirectories());
+                }
+            }
+            tmp.addAll(variant.getMainArtifact().getGeneratedResourceFolders());
+            Set<File> visited = new HashSet<>();
+            for (AndroidLibrary lib : variant.getMainArtifact().getDependencies().getLibraries()) {
+                addLibraryResRoots(lib, tmp, visited);
+            }
+        }
+        BuildTypeContainer buildTypeContainer = buildVariant.getCurrentBuildTypeContainer();
+        if (buildTypeContainer != null) {
+            tmp.addAll(buildTypeContainer.getSourceProvider().getResDirectories());
+        }
+        return tmp;
+    }
+
+    private void addLibraryResRoots(AndroidLibrary lib, Set<File> tmp, Set<File> visited) {
+        if (!visited.add(lib.getFolder())) {
+            return;
+        }
+        File resFolder = lib.getResFolder();
+        if (resFolder != null) {
+            tmp.add(resFolder);
+        }
+        for (AndroidLibrary child : lib.getLibraryDependencies()) {
+            addLibraryResRoots(child, tmp, visited);
+        }
+    }
+
+    /**
+     * Compare new res roots with current and parse only added roots
+     */
+    private void updateRoots() {
+        Set<File> newRoots = new LinkedHashSet<>();
+        for (File root : findResRoots()) {
+            newRoots.add(FileUtil.normalizeFile(root));
+        }
+        List<File> removed = new ArrayList<>();
+        List<File> added = new ArrayList<>();
+        synchronized (roots) {
+            for (File root : roots.keySet()) {
+                if (!newRoots.contains(root)) {
+                    removed.add(root);
+                }
+            }
+            for (File root : newRoots) {
+                if (!roots.containsKey(root)) {
+                    added.add(root);
+                }
+            }
+            for (File root : removed) {
+                FileUtil.removeRecursiveListener(roots.remove(root), root);
+            }
+            for (File root : added) {
+                FileChangeListener listener = FileUtil.weakFileChangeListener(this, FileUtil.class);
+                FileUtil.addRecursiveListener(listener, root);
+                roots.put(root, listener);
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        for (File root : removed) {
+            FileObject rootFo = FileUtil.toFileObject(root);
+            Iterator<FileObject> iterator = fileValues.keySet().iterator();
+            while (iterator.hasNext()) {
+                FileObject fo = iterator.next();
+                if (rootFo == null || !fo.isValid() || FileUtil.isParentOf(rootFo, fo)) {
+                    removeFile(fo);
+                }
+            }
+        }
+        for (File root : added) {
+            FileObject rootFo = FileUtil.toFileObject(root);
+            if (rootFo == null || !rootFo.isFolder()) {
+                continue;
+            }
+            for (FileObject folder : rootFo.getChildren()) {
+                if (isValuesFolder(folder)) {
+                    for (FileObject fo : folder.getChildren()) {
+                        if (isValuesFile(fo)) {
+                            parseFile(fo);
+                        }
+                    }
+                }
+            }
+        }
+        LOG.log(Level.FINE, "{0} res roots: {1}", new Object[]{nbProject.getProjectDirectory().getPath(), newRoots});
+        publishSnapshots();
+    }
+
+    private static boolean isValuesFolder(FileObject fo) {
+        return fo != null && fo.isFolder() && fo.getName().startsWith("values");
+    }
+
+    private static boolean isValuesFile(FileObject fo) {
+        return fo != null && fo.isData() && fo.hasExt("xml") && isValuesFolder(fo.getParent());
+    }
+
+    private void parseFile(FileObject fo) {
+        List<BasicValuesCompletionItem> tmp = Collections.emptyList();
+        try {
+            tmp = AndroidResValuesParser.parse(fo);
+        } catch (IOException | XMLStreamException ex) {
+            //file is edited or not a values file, keep it empty until next change
+            LOG.log(Level.FINE, fo.getPath(), ex);
+        }
+        List<BasicValuesCompletionItem> old = fileValues.put(fo, tmp);
+        updateIndex(old, tmp);
+    }
+
+    private void removeFile(FileObject fo) {
+        List<BasicValuesCompletionItem> old = fileValues.remove(fo);
+        if (old != null) {
+            updateIndex(old, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Replace values of one file in per type index and mark affected types.
+     * Called only from RP thread.
+     *
+     * @param removed old values of file or null
+     * @param added new values of file
+     */
+    private void updateIndex(List<BasicValuesCompletionItem> removed, List<BasicValuesCompletionItem> added) {
+        Set<AndroidValueType> changed = dirtyTypes;
+        if (removed != null) {
+            for (BasicValuesCompletionItem item : removed) {
+                Map<String, List<BasicValuesCompletionItem>> index = typeIndex.get(item.getType());
+                List<BasicValuesCompletionItem> items = index != null ? index.get(item.getCompletionText()) : null;
+                if (items != null) {
+                    //remove by identity, equals is based on completion text only
+                    for (Iterator<BasicValuesCompletionItem> it = items.iterator(); it.hasNext();) {
+                        if (it.next() == item) {
+                            it.remove();
+                            break;
+                        }
+                    }
+                    if (items.isEmpty()) {
+                        index.remove(item.getCompletionText());
+                    }
+                    changed.add(item.getType());
+                }
+            }
+        }
+        for (BasicValuesCompletionItem item : added) {
+            Map<String, List<BasicValuesCompletionItem>> index = typeIndex.computeIfAbsent(item.getType(), t -> new LinkedHashMap<>());
+            index.computeIfAbsent(item.getCompletionText(), t -> new ArrayList<>(1)).add(item);
+            changed.add(item.getType());
+        }
+    }
+
+    /**
+     * Rebuild snapshots of changed types and notify listeners
+     */
+    private void publishSnapshots() {
+        if (dirtyTypes.isEmpty()) {
+            return;
+        }
+        for (AndroidValueType type : dirtyTypes) {
+            snapshots.put(type, new TypeSnapshot(typeIndex.get(type)));
+        }
+        dirtyTypes.clear();
+        cs.fireChange();
+    }
+
+    private void scheduleParse(final FileObject fo) {
+        synchronized (pending) {
+            RequestProcessor.Task task = pending.get(fo);
+            if (task == null) {
+                task = RP.create(new Runnable() {
+                    @Override
+                    public void run() {
+                        synchronized (pending) {
+                            pending.remove(fo);
+                        }
+                        if (fo.isValid()) {
+                            parseFile(fo);
+                        } else {
+                            removeFile(fo);
+                        }
+                        publishSnapshots();
+                    }
+                });
+                pending.put(fo, task);
+            }
+            task.schedule(FILE_REPARSE_DELAY);
+        }
+    }
+
+    private void scheduleRemove(final FileObject fo) {
+        RP.post(new Runnable() {
+            @Override
+            public void run() {
+                removeFile(fo);
+                //deleted folder, remove all its files
+                Iterator<FileObject> iterator = fileValues.keySet().iterator();
+                while (iterator.hasNext()) {
+                    FileObject next = iterator.next();
+                    if (!next.isValid()) {
+                        removeFile(next);
+                    }
+                }
+                publishSnapshots();
+            }
+        });
+    }
+
+    @Override
+    public void fileFolderCreated(FileEvent fe) {
+        FileObject folder = fe.getFile();
+        if (isValuesFolder(folder)) {
+            for (FileObject fo : folder.getChildren()) {
+                if (isValuesFile(fo)) {
+                    scheduleParse(fo);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fileDataCreated(FileEvent fe) {
+        if (isValuesFile(fe.getFile())) {
+            scheduleParse(fe.getFile());
+        }
+    }
+
+    @Override
+    public void fileChanged(FileEvent fe) {
+        if (isValuesFile(fe.getFile())) {
+            scheduleParse(fe.getFile());
+        }
+    }
+
+    @Override
+    public void fileDeleted(FileEvent fe) {
+        scheduleRemove(fe.getFile());
+    }
+
+    @Override
+    public void fileRenamed(FileRenameEvent fe) {
+        //old FileObject is renamed in place, values stay valid
+        if (!isValuesFile(fe.getFile())) {
+            scheduleRemove(fe.getFile());
+        } else if (!fileValues.containsKey(fe.getFile())) {
+            scheduleParse(fe.getFile());
+        }
+    }
+
+    @Override
+    public void fileAttributeChanged(FileAttributeEvent fe) {
+    }
+
+    /**
+     * Immutable view of one value type
+     */
+    private static final class TypeSnapshot {
+
+        private final List<BasicValuesCompletionItem> items;
+        private final NavigableMap<String, BasicValuesCompletionItem> byName;
+
+        private TypeSnapshot(Map<String, List<BasicValuesCompletionItem>> index) {
+            List<BasicValuesCompletionItem> tmp = new ArrayList<>(index.size());
+            TreeMap<String, BasicValuesCompletionItem> names = new TreeMap<>();
+            for (List<BasicValuesCompletionItem> values : index.values()) {
+                BasicValuesCompletionItem item = values.get(0);
+                tmp.add(item);
+                names.putIfAbsent(item.getName(), item);
+            }
+            this.items = Collections.unmodifiableList(tmp);
+            this.byName = Collections.unmodifiableNavigableMap(names);
+        }
+    }
+
+}
@@ -19,8 +19,15 @@
 package org.nbandroid.netbeans.gradle.v2.layout.values;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.XMLConstants;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
 import org.netbeans.api.xml.cookies.CookieMessage;
 import org.netbeans.api.xml.cookies.CookieObserver;
 import org.netbeans.api.xml.parsers.SAXEntityParser;
@@ -42,6 +49,19 @@ import org.xml.sax.helpers.DefaultHandler;
  */
 public class ResourceXsdValidateXMLSupport extends ValidateXMLSupport {
 
+    /**
+     * Compiled schemas shared by all validated files, key is xsd URL
+     */
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+    /**
+     * Validator is not thread safe, keep one per thread and schema
+     */
+    private static final ThreadLocal<Map<Schema, Validator>> VALIDATORS = new ThreadLocal<Map<Schema, Validator>>() {
+        @Override
+        protected Map<Schema, Validator> initialValue() {
+            return new HashMap<>();
+        }
+    };
     private CookieObserver console;
     private final InputSource inputSource;
     private final int mode = CheckXMLSupport.DOCUMENT_MODE;
@@ -65,23 +85,61 @@ public class ResourceXsdValidateXMLSupport extends ValidateXMLSupport {
         }
     }
 
+    /**
+     * Validation runs in caller thread, compiled schema and validator are
+     * reused between runs.
+     *
+     * @param l
+     * @return
+     */
     @Override
-    public boolean validateXML(CookieObserver l) {
+    public synchronized boolean validateXML(CookieObserver l) {
+        if (mode != CheckXMLSupport.DOCUMENT_MODE) {
+            return false;
+        }
         try {
             console = l;
-
-            if (mode != CheckXMLSupport.DOCUMENT_MODE) {
-                return false;
-            } else {
-                parse(true);
-                return errors == 0 && fatalErrors == 0;
-            }
+            parse(true);
+            return errors == 0 && fatalErrors == 0;
         } finally {
             console = null;
             locator = null;
         }
     }
 
+    /**
+     * Get compiled schema from cache
+     *
+     * @param xsd schema URL
+     * @return
+     * @throws SAXException
+     * @throws IOException
+     */
+    private static Schema getSchema(String xsd) throws SAXException, IOException {
+        Schema schema = SCHEMAS.get(xsd);
+        if (schema == null) {
+            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            schema = factory.newSchema(new URL(xsd));
+            Schema old = SCHEMAS.putIfAbsent(xsd, schema);
+            if (old != null) {
+                schema = old;
+            }
+        }
+        return schema;
+    }
+
+    private static Validator getValidator(Schema schema) {
+        Map<Schema, Validator> validators = VALIDATORS.get();
+        Validator validator = validators.get(schema);
+        if (validator == null) {
+            validator = schema.newValidator();
+            validators.put(schema, validator);
+        } else {
+            validator.reset();
+        }
+        return validator;
+    }
+
     /**
      * Perform parsing in current thread.
      */
@@ -90,33 +148,39 @@ public class ResourceXsdValidateXMLSupport extends ValidateXMLSupport {
         fatalErrors = 0;
         errors = 0;
 
-        Method create = null;
-        Method reset = null;
-
-        String checkedFile = inputSource.getSystemId();
-
         Handler handler = new Handler();
 
-        InputSource input = null;
-
+        Schema schema = null;
+        if (validate && xsd != null) {
+            try {
+                schema = getSchema(xsd);
+            } catch (SAXException | IOException ex) {
+                fatalErrors++;
+                receive(new CookieMessage(
+                        ex.getLocalizedMessage(),
+                        CookieMessage.FATAL_ERROR_LEVEL
+                ));
+                return;
+            }
+        }
         try {
+            InputSource input = createInputSource();
+            if (schema != null) {
+                Validator validator = getValidator(schema);
+                validator.setErrorHandler(handler);
+                validator.validate(new SAXSource(input));
+                return;
+            }
             XMLReader parser = createParser(validate);
             if (parser == null) {
                 fatalErrors++;
-                console.receive(new CookieMessage(
+                receive(new CookieMessage(
                         "cannot_create_parser",
                         CookieMessage.FATAL_ERROR_LEVEL
                 ));
                 return;
             }
 
-            if (validate && xsd != null) {
-                input = createInputSource();
-                parser.setProperty("http://apache.org/xml/properties/schema/external-noNamespaceSchemaLocation", xsd); //NOI18N
-            } else {
-                input = createInputSource();
-            }
-
             parser.setErrorHandler(handler);
             parser.setContentHandler(handler);
 
@@ -141,12 +205,17 @@ public class ResourceXsdValidateXMLSupport extends ValidateXMLSupport {
 
     }
 
-    private void sendMessage(String message) {
-        if (console != null) {
-            console.receive(new CookieMessage(message));
+    private void receive(CookieMessage message) {
+        CookieObserver observer = console;
+        if (observer != null) {
+            observer.receive(message);
         }
     }
 
+    private void sendMessage(String message) {
+        receive(new CookieMessage(message));
+    }
+
     public final String getString(String key) {
         try {
             if (key == null) {
@@ -209,9 +278,7 @@ public class ResourceXsdValidateXMLSupport extends ValidateXMLSupport {
                     CookieMessage.WARNING_LEVEL,
                     new DefaultXMLProcessorDetail(ex)
             );
-            if (console != null) {
-                console.receive(message);
-            }
+            receive(message);
         }
 
         /**
@@ -229,9 +296,7 @@ public class ResourceXsdValidateXMLSupport extends ValidateXMLSupport {
                         CookieMessage.ERROR_LEVEL,
                         new DefaultXMLProcessorDetail(ex)
                 );
-                if (console != null) {
-                    console.receive(message);
-                }
+                receive(message);
             }
         }
 
@@ -253,9 +318,7 @@ public class ResourceXsdValidateXMLSupport extends ValidateXMLSupport {
                     CookieMessage.FATAL_ERROR_LEVEL,
                     new DefaultXMLProcessorDetail(ex)
             );
-            if (console != null) {
-                console.receive(message);
-            }
+            receive(message);
         }
 
         public void setDocumentLocator(Locator locator) {
@@ -24,9 +24,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import org.nbandroid.netbeans.gradle.api.AndroidClassPath;
 import org.nbandroid.netbeans.gradle.v2.gradle.build.parser.AndroidGradleDependencyUpdater;
@@ -88,17 +86,17 @@ public class AddDependencyAction extends NodeAction {
                             packages.add(mavenLocation);
                         }
                     }
-                    String mavenUrl = dialogProvider.showAddDependencyDialog(repositories, packages);
-                    if (mavenUrl != null) {
-                        Map<String, List<String>> dependencies = new HashMap<>();
-                        List<String> tmp = new ArrayList<>();
-                        tmp.add(mavenUrl);
-                        dependencies.put("implementation", tmp);
+                    List<String> mavenUrls = dialogProvider.showAddDependencyDialog(repositories, packages);
+                    if (!mavenUrls.isEmpty()) {
                         String builGradle = project.getProjectDirectoryAsFile().getAbsolutePath() + File.separator + "build.gradle";
                         File builGradleFile = new File(builGradle);
                         if (builGradleFile.exists()) {
-                            AndroidGradleDependencyUpdater.insertDependencies(builGradleFile, dependencies);
-                            project.reloadProject();
+                            //all selected dependencies in one edit and one model reload
+                            AndroidGradleDependencyUpdater.Batch batch = AndroidGradleDependencyUpdater.batch(builGradleFile);
+                            for (String mavenUrl : mavenUrls) {
+                                batch.add("implementation", mavenUrl);
+                            }
+                            batch.commit(project);
                         }
                     }
                 }
@@ -44,8 +44,8 @@ import java.util.Map;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import org.gradle.internal.impldep.org.apache.commons.io.IOUtils;
+import org.nbandroid.netbeans.gradle.v2.gradle.BuildScriptFacts;
 import org.nbandroid.netbeans.gradle.v2.gradle.build.parser.AndroidGradleDependencies;
-import org.nbandroid.netbeans.gradle.v2.gradle.build.parser.AndroidGradleDependenciesVisitor;
 import org.nbandroid.netbeans.gradle.v2.gradle.build.parser.AndroidGradleDependencyUpdater;
 import org.nbandroid.netbeans.gradle.v2.layout.parsers.AndroidResValuesMerge;
 import org.nbandroid.netbeans.gradle.v2.project.template.freemarker.converters.FmGetConfigurationNameMethod;
@@ -372,13 +372,8 @@ public class ProjectTemplateLoader implements TemplateLoader, RecipeExecutor {
     }
 
     public AndroidGradleDependencies getDependencies() {
-        try {
-            AndroidGradleDependenciesVisitor visitor = AndroidGradleDependenciesVisitor.parse(buildGradleLocation);
-            return visitor.getDependencies();
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
-        }
-        return null;
+        BuildScriptFacts facts = BuildScriptFacts.get(buildGradleLocation);
+        return facts != null ? facts.getDependencies() : null;
     }
 
     @Override
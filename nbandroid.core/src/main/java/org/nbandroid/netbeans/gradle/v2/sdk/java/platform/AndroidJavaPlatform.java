@@ -33,10 +33,8 @@ import org.nbandroid.netbeans.gradle.v2.sdk.GlobalAndroidClassPathRegistry;
 import org.netbeans.api.java.classpath.ClassPath;
 import org.netbeans.api.java.platform.JavaPlatform;
 import org.netbeans.api.java.platform.Specification;
-import static org.netbeans.modules.android.project.query.AndroidClassPathProvider.VIRTUALJAVA8ROOT_DIR;
 import org.netbeans.spi.java.classpath.support.ClassPathSupport;
 import org.openide.filesystems.FileObject;
-import org.openide.filesystems.FileUtil;
 import org.openide.modules.SpecificationVersion;
 
 /**
@@ -55,9 +53,7 @@ public class AndroidJavaPlatform extends JavaPlatform {
         this.pkg = pkg;
         this.specification = new Specification("j2se", new SpecificationVersion(javaVersion));
         if ("1.8".equals(javaVersion)) {
-            URL java8 = FileUtil.urlForArchiveOrDir(FileUtil.normalizeFile(VIRTUALJAVA8ROOT_DIR));
-            ClassPath java8ClassPath = ClassPathSupport.createClassPath(new URL[]{java8});
-            this.boot = ClassPathSupport.createProxyClassPath(java8ClassPath, GlobalAndroidClassPathRegistry.getClassPath(ClassPath.BOOT, pkg.getBootURLs()));
+            this.boot = ClassPathSupport.createProxyClassPath(VirtualJava8Root.getClassPath(), GlobalAndroidClassPathRegistry.getClassPath(ClassPath.BOOT, pkg.getBootURLs()));
         } else {
             this.boot = GlobalAndroidClassPathRegistry.getClassPath(ClassPath.BOOT, pkg.getBootURLs());
         }
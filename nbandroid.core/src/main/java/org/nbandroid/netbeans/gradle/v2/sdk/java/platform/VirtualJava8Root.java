@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.sdk.java.platform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.spi.java.classpath.support.ClassPathSupport;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.modules.Places;
+
+/**
+ * Virtual java 8 package to override NB java 8 support check. Stubs are
+ * written once into archive with fixed content and timestamps, the archive is
+ * rewritten only when content differs, so its root and Java index are reused
+ * by all platforms and projects and across IDE restarts.
+ *
+ * @author arsi
+ */
+public final class VirtualJava8Root {
+
+    private static final Logger LOG = Logger.getLogger(VirtualJava8Root.class.getName());
+    private static final File ARCHIVE = new File(Places.getCacheSubdirectory("android_virtual_java8"), "java8.jar");
+    private static final long ENTRY_TIME = 315532800000L; //1980-01-01, lowest zip time
+    private static final String STREAMS = "java/util/stream/Streams.class";
+    private static final String LAMBDA_METAFACTORY = "java/lang/invoke/LambdaMetafactory.class";
+
+    private static URL root;
+    private static ClassPath classPath;
+
+    private static final byte[] lambda = new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x34, (byte) 0x00, (byte) 0x67, (byte) 0x0A, (byte) 0x00, (byte) 0x14, (byte) 0x00, (byte) 0x3A, (byte) 0x07, (byte) 0x00, (byte) 0x3B, (byte) 0x09, (byte) 0x00, (byte) 0x0C, (byte) 0x00, (byte) 0x3C, (byte) 0x09, (byte) 0x00, (byte) 0x0C, (byte) 0x00, (byte) 0x3D, (byte) 0x0A, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x3E, (byte) 0x0A, (byte) 0x00, (byte) 0x3F, (byte) 0x00, (byte) 0x40, (byte) 0x0A, (byte) 0x00, (byte) 0x3F, (byte) 0x00, (byte) 0x41, (byte) 0x07, (byte) 0x00, (byte) 0x42, (byte) 0x07, (byte) 0x00, (byte) 0x43, (byte) 0x07, (byte) 0x00, (byte) 0x44, (byte) 0x0A, (byte) 0x00, (byte) 0x0A, (byte) 0x00, (byte) 0x45, (byte) 0x07, (byte) 0x00, (byte) 0x46, (byte) 0x07, (byte) 0x00, (byte) 0x47, (byte) 0x0A, (byte) 0x00, (byte) 0x48, (byte) 0x00, (byte) 0x49, (byte) 0x07, (byte) 0x00, (byte) 0x4A, (byte) 0x0A, (byte) 0x00, (byte) 0x08, (byte) 0x00, (byte) 0x4B, (byte) 0x0A, (byte) 0x00, (byte) 0x0D, (byte) 0x00, (byte) 0x4C, (byte) 0x0A, (byte) 0x00, (byte) 0x4D, (byte) 0x00, (byte) 0x4E, (byte) 0x07, (byte) 0x00, (byte) 0x1E, (byte) 0x07, (byte) 0x00, (byte) 0x4F, (byte) 0x01, (byte) 0x00, (byte) 0x11, (byte) 0x46, (byte) 0x4C, (byte) 0x41, (byte) 0x47, (byte) 0x5F, (byte) 0x53, (byte) 0x45, (byte) 0x52, (byte) 0x49, (byte) 0x41, (byte) 0x4C, (byte) 0x49, (byte) 0x5A, (byte) 0x41, (byte) 0x42, (byte) 0x4C, (byte) 0x45, (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x49, (byte) 0x01, (byte) 0x00, (byte) 0x0D, (byte) 0x43, (byte) 0x6F, (byte) 0x6E, (byte) 0x73, (byte) 0x74, (byte) 0x61, (byte) 0x6E, (byte) 0x74, (byte) 0x56, (byte) 0x61, (byte) 0x6C, (byte) 0x75, (byte) 0x65, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x01, (byte) 0x00, (byte) 0x0C, (byte) 0x46, (byte) 0x4C, (byte) 0x41, (byte) 0x47, (byte) 0x5F, (byte) 0x4D, (byte) 0x41, (byte) 0x52, (byte) 0x4B, (byte) 0x45, (byte) 0x52, (byte) 0x53, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x01, (byte) 0x00, (byte) 0x0C, (byte) 0x46, (byte) 0x4C, (byte) 0x41, (byte) 0x47, (byte) 0x5F, (byte) 0x42, (byte) 0x52, (byte) 0x49, (byte) 0x44, (byte) 0x47, (byte) 0x45, (byte) 0x53, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x01, (byte) 0x00, (byte) 0x11, (byte) 0x45, (byte) 0x4D, (byte) 0x50, (byte) 0x54, (byte) 0x59, (byte) 0x5F, (byte) 0x43, (byte) 0x4C, (byte) 0x41, (byte) 0x53, (byte) 0x53, (byte) 0x5F, (byte) 0x41, (byte) 0x52, (byte) 0x52, (byte) 0x41, (byte) 0x59, (byte) 0x01, (byte) 0x00, (byte) 0x12, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x09, (byte) 0x53, (byte) 0x69, (byte) 0x67, (byte) 0x6E, (byte) 0x61, (byte) 0x74, (byte) 0x75, (byte) 0x72, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x15, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3C, (byte) 0x2A, (byte) 0x3E, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x0E, (byte) 0x45, (byte) 0x4D, (byte) 0x50, (byte) 0x54, (byte) 0x59, (byte) 0x5F, (byte) 0x4D, (byte) 0x54, (byte) 0x5F, (byte) 0x41, (byte) 0x52, (byte) 0x52, (byte) 0x41, (byte) 0x59, (byte) 0x01, (byte) 0x00, (byte) 0x1E, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x06, (byte) 0x3C, (byte) 0x69, (byte) 0x6E, (byte) 0x69, (byte) 0x74, (byte) 0x3E, (byte) 0x01, (byte) 0x00, (byte) 0x03, (byte) 0x28, (byte) 0x29, (byte) 0x56, (byte) 0x01, (byte) 0x00, (byte) 0x04, (byte) 0x43, (byte) 0x6F, (byte) 0x64, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x0F, (byte) 0x4C, (byte) 0x69, (byte) 0x6E, (byte) 0x65, (byte) 0x4E, (byte) 0x75, (byte) 0x6D, (byte) 0x62, (byte) 0x65, (byte) 0x72, (byte) 0x54, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x0B, (byte) 0x6D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x07, (byte) 0x00, (byte) 0x51, (byte) 0x01, (byte) 0x00, (byte) 0x06, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x01, (byte) 0x00, (byte) 0x0C, (byte) 0x49, (byte) 0x6E, (byte) 0x6E, (byte) 0x65, (byte) 0x72, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x65, (byte) 0x73, (byte) 0x01, (byte) 0x00, (byte) 0xCC, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x0A, (byte) 0x45, (byte) 0x78, (byte) 0x63, (byte) 0x65, (byte) 0x70, (byte) 0x74, (byte) 0x69, (byte) 0x6F, (byte) 0x6E, (byte) 0x73, (byte) 0x07, (byte) 0x00, (byte) 0x52, (byte) 0x01, (byte) 0x00, (byte) 0x0E, (byte) 0x61, (byte) 0x6C, (byte) 0x74, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x86, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x0D, (byte) 0x53, (byte) 0x74, (byte) 0x61, (byte) 0x63, (byte) 0x6B, (byte) 0x4D, (byte) 0x61, (byte) 0x70, (byte) 0x54, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x07, (byte) 0x00, (byte) 0x51, (byte) 0x07, (byte) 0x00, (byte) 0x53, (byte) 0x07, (byte) 0x00, (byte) 0x42, (byte) 0x07, (byte) 0x00, (byte) 0x54, (byte) 0x07, (byte) 0x00, (byte) 0x43, (byte) 0x07, (byte) 0x00, (byte) 0x22, (byte) 0x01, (byte) 0x00, (byte) 0x08, (byte) 0x3C, (byte) 0x63, (byte) 0x6C, (byte) 0x69, (byte) 0x6E, (byte) 0x69, (byte) 0x74, (byte) 0x3E, (byte) 0x01, (byte) 0x00, (byte) 0x0A, (byte) 0x53, (byte) 0x6F, (byte) 0x75, (byte) 0x72, (byte) 0x63, (byte) 0x65, (byte) 0x46, (byte) 0x69, (byte) 0x6C, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x16, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x2E, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x0C, (byte) 0x00, (byte) 0x23, (byte) 0x00, (byte) 0x24, (byte) 0x01, (byte) 0x00, (byte) 0x2C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x49, (byte) 0x6E, (byte) 0x6E, (byte) 0x65, (byte) 0x72, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x0C, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x1E, (byte) 0x0C, (byte) 0x00, (byte) 0x21, (byte) 0x00, (byte) 0x22, (byte) 0x0C, (byte) 0x00, (byte) 0x23, (byte) 0x00, (byte) 0x55, (byte) 0x07, (byte) 0x00, (byte) 0x56, (byte) 0x0C, (byte) 0x00, (byte) 0x57, (byte) 0x00, (byte) 0x24, (byte) 0x0C, (byte) 0x00, (byte) 0x58, (byte) 0x00, (byte) 0x59, (byte) 0x01, (byte) 0x00, (byte) 0x1B, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x1D, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x11, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x49, (byte) 0x6E, (byte) 0x74, (byte) 0x65, (byte) 0x67, (byte) 0x65, (byte) 0x72, (byte) 0x0C, (byte) 0x00, (byte) 0x5A, (byte) 0x00, (byte) 0x5B, (byte) 0x01, (byte) 0x00, (byte) 0x22, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x0F, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x07, (byte) 0x00, (byte) 0x5C, (byte) 0x0C, (byte) 0x00, (byte) 0x5D, (byte) 0x00, (byte) 0x5E, (byte) 0x01, (byte) 0x00, (byte) 0x14, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x69, (byte) 0x6F, (byte) 0x2F, (byte) 0x53, (byte) 0x65, (byte) 0x72, (byte) 0x69, (byte) 0x61, (byte) 0x6C, (byte) 0x69, (byte) 0x7A, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x0C, (byte) 0x00, (byte) 0x5F, (byte) 0x00, (byte) 0x60, (byte) 0x0C, (byte) 0x00, (byte) 0x61, (byte) 0x00, (byte) 0x62, (byte) 0x07, (byte) 0x00, (byte) 0x63, (byte) 0x0C, (byte) 0x00, (byte) 0x64, (byte) 0x00, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x07, (byte) 0x00, (byte) 0x66, (byte) 0x01, (byte) 0x00, (byte) 0x25, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x01, (byte) 0x00, (byte) 0x2A, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x43, (byte) 0x6F, (byte) 0x6E, (byte) 0x76, (byte) 0x65, (byte) 0x72, (byte) 0x73, (byte) 0x69, (byte) 0x6F, (byte) 0x6E, (byte) 0x45, (byte) 0x78, (byte) 0x63, (byte) 0x65, (byte) 0x70, (byte) 0x74, (byte) 0x69, (byte) 0x6F, (byte) 0x6E, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x01, (byte) 0x00, (byte) 0x13, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0xE3, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x5A, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x29, (byte) 0x56, (byte) 0x01, (byte) 0x00, (byte) 0x34, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x41, (byte) 0x62, (byte) 0x73, (byte) 0x74, (byte) 0x72, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x56, (byte) 0x61, (byte) 0x6C, (byte) 0x69, (byte) 0x64, (byte) 0x61, (byte) 0x74, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x76, (byte) 0x61, (byte) 0x6C, (byte) 0x69, (byte) 0x64, (byte) 0x61, (byte) 0x74, (byte) 0x65, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x41, (byte) 0x72, (byte) 0x67, (byte) 0x73, (byte) 0x01, (byte) 0x00, (byte) 0x0D, (byte) 0x62, (byte) 0x75, (byte) 0x69, (byte) 0x6C, (byte) 0x64, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x1D, (byte) 0x28, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x08, (byte) 0x69, (byte) 0x6E, (byte) 0x74, (byte) 0x56, (byte) 0x61, (byte) 0x6C, (byte) 0x75, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x03, (byte) 0x28, (byte) 0x29, (byte) 0x49, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x79, (byte) 0x73, (byte) 0x74, (byte) 0x65, (byte) 0x6D, (byte) 0x01, (byte) 0x00, (byte) 0x09, (byte) 0x61, (byte) 0x72, (byte) 0x72, (byte) 0x61, (byte) 0x79, (byte) 0x63, (byte) 0x6F, (byte) 0x70, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x2A, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x49, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x49, (byte) 0x49, (byte) 0x29, (byte) 0x56, (byte) 0x01, (byte) 0x00, (byte) 0x0A, (byte) 0x72, (byte) 0x65, (byte) 0x74, (byte) 0x75, (byte) 0x72, (byte) 0x6E, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x13, (byte) 0x28, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x69, (byte) 0x73, (byte) 0x41, (byte) 0x73, (byte) 0x73, (byte) 0x69, (byte) 0x67, (byte) 0x6E, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x46, (byte) 0x72, (byte) 0x6F, (byte) 0x6D, (byte) 0x01, (byte) 0x00, (byte) 0x14, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x29, (byte) 0x5A, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x75, (byte) 0x74, (byte) 0x69, (byte) 0x6C, (byte) 0x2F, (byte) 0x41, (byte) 0x72, (byte) 0x72, (byte) 0x61, (byte) 0x79, (byte) 0x73, (byte) 0x01, (byte) 0x00, (byte) 0x06, (byte) 0x63, (byte) 0x6F, (byte) 0x70, (byte) 0x79, (byte) 0x4F, (byte) 0x66, (byte) 0x01, (byte) 0x00, (byte) 0x29, (byte) 0x28, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x49, (byte) 0x29, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x1E, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x00, (byte) 0x21, (byte) 0x00, (byte) 0x0C, (byte) 0x00, (byte) 0x14, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x05, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x15, (byte) 0x00, (byte) 0x16, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x18, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x16, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x1A, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x1B, (byte) 0x00, (byte) 0x16, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x1C, (byte) 0x00, (byte) 0x1A, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x1E, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x1F, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x20, (byte) 0x00, (byte) 0x1A, (byte) 0x00, (byte) 0x21, (byte) 0x00, (byte) 0x22, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x23, (byte) 0x00, (byte) 0x24, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x05, (byte) 0x2A, (byte) 0xB7, (byte) 0x00, (byte) 0x01, (byte) 0xB1, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x06, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0xD7, (byte) 0x00, (byte) 0x09, (byte) 0x00, (byte) 0x27, (byte) 0x00, (byte) 0x2B, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x43, (byte) 0x00, (byte) 0x0B, (byte) 0x00, (byte) 0x07, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x23, (byte) 0xBB, (byte) 0x00, (byte) 0x02, (byte) 0x59, (byte) 0x2A, (byte) 0x2C, (byte) 0x2B, (byte) 0x2D, (byte) 0x19, (byte) 0x04, (byte) 0x19, (byte) 0x05, (byte) 0x03, (byte) 0xB2, (byte) 0x00, (byte) 0x03, (byte) 0xB2, (byte) 0x00, (byte) 0x04, (byte) 0xB7, (byte) 0x00, (byte) 0x05, (byte) 0x3A, (byte) 0x06, (byte) 0x19, (byte) 0x06, (byte) 0xB6, (byte) 0x00, (byte) 0x06, (byte) 0x19, (byte) 0x06, (byte) 0xB6, (byte) 0x00, (byte) 0x07, (byte) 0xB0, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0E, (byte) 0x00, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x2B, (byte) 0x00, (byte) 0x18, (byte) 0x01, (byte) 0x2F, (byte) 0x00, (byte) 0x1D, (byte) 0x01, (byte) 0x30, (byte) 0x00, (byte) 0x2C, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x2D, (byte) 0x00, (byte) 0x89, (byte) 0x00, (byte) 0x2E, (byte) 0x00, (byte) 0x2F, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x52, (byte) 0x00, (byte) 0x0B, (byte) 0x00, (byte) 0x11, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x1F, (byte) 0x2D, (byte) 0x03, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x08, (byte) 0x3A, (byte) 0x04, (byte) 0x2D, (byte) 0x04, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x09, (byte) 0x3A, (byte) 0x05, (byte) 0x2D, (byte) 0x05, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x08, (byte) 0x3A, (byte) 0x06, (byte) 0x2D, (byte) 0x06, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x0A, (byte) 0xB6, (byte) 0x00, (byte) 0x0B, (byte) 0x36, (byte) 0x07, (byte) 0x07, (byte) 0x36, (byte) 0x0A, (byte) 0x15, (byte) 0x07, (byte) 0x05, (byte) 0x7E, (byte) 0x99, (byte) 0x00, (byte) 0x2E, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x84, (byte) 0x0A, (byte) 0x01, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x0A, (byte) 0xB6, (byte) 0x00, (byte) 0x0B, (byte) 0x36, (byte) 0x0B, (byte) 0x15, (byte) 0x0B, (byte) 0xBD, (byte) 0x00, (byte) 0x0D, (byte) 0x3A, (byte) 0x08, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x19, (byte) 0x08, (byte) 0x03, (byte) 0x15, (byte) 0x0B, (byte) 0xB8, (byte) 0x00, (byte) 0x0E, (byte) 0x15, (byte) 0x0A, (byte) 0x15, (byte) 0x0B, (byte) 0x60, (byte) 0x36, (byte) 0x0A, (byte) 0xA7, (byte) 0x00, (byte) 0x08, (byte) 0xB2, (byte) 0x00, (byte) 0x03, (byte) 0x3A, (byte) 0x08, (byte) 0x15, (byte) 0x07, (byte) 0x07, (byte) 0x7E, (byte) 0x99, (byte) 0x00, (byte) 0x2E, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x84, (byte) 0x0A, (byte) 0x01, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x0A, (byte) 0xB6, (byte) 0x00, (byte) 0x0B, (byte) 0x36, (byte) 0x0B, (byte) 0x15, (byte) 0x0B, (byte) 0xBD, (byte) 0x00, (byte) 0x08, (byte) 0x3A, (byte) 0x09, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x19, (byte) 0x09, (byte) 0x03, (byte) 0x15, (byte) 0x0B, (byte) 0xB8, (byte) 0x00, (byte) 0x0E, (byte) 0x15, (byte) 0x0A, (byte) 0x15, (byte) 0x0B, (byte) 0x60, (byte) 0x36, (byte) 0x0A, (byte) 0xA7, (byte) 0x00, (byte) 0x08, (byte) 0xB2, (byte) 0x00, (byte) 0x04, (byte) 0x3A, (byte) 0x09, (byte) 0x15, (byte) 0x07, (byte) 0x04, (byte) 0x7E, (byte) 0x99, (byte) 0x00, (byte) 0x07, (byte) 0x04, (byte) 0xA7, (byte) 0x00, (byte) 0x04, (byte) 0x03, (byte) 0x36, (byte) 0x0B, (byte) 0x15, (byte) 0x0B, (byte) 0x99, (byte) 0x00, (byte) 0x58, (byte) 0x12, (byte) 0x0F, (byte) 0x2C, (byte) 0xB6, (byte) 0x00, (byte) 0x10, (byte) 0xB6, (byte) 0x00, (byte) 0x11, (byte) 0x36, (byte) 0x0C, (byte) 0x19, (byte) 0x08, (byte) 0x3A, (byte) 0x0D, (byte) 0x19, (byte) 0x0D, (byte) 0xBE, (byte) 0x36, (byte) 0x0E, (byte) 0x03, (byte) 0x36, (byte) 0x0F, (byte) 0x15, (byte) 0x0F, (byte) 0x15, (byte) 0x0E, (byte) 0xA2, (byte) 0x00, (byte) 0x1C, (byte) 0x19, (byte) 0x0D, (byte) 0x15, (byte) 0x0F, (byte) 0x32, (byte) 0x3A, (byte) 0x10, (byte) 0x15, (byte) 0x0C, (byte) 0x12, (byte) 0x0F, (byte) 0x19, (byte) 0x10, (byte) 0xB6, (byte) 0x00, (byte) 0x11, (byte) 0x80, (byte) 0x36, (byte) 0x0C, (byte) 0x84, (byte) 0x0F, (byte) 0x01, (byte) 0xA7, (byte) 0xFF, (byte) 0xE3, (byte) 0x15, (byte) 0x0C, (byte) 0x9A, (byte) 0x00, (byte) 0x1C, (byte) 0x19, (byte) 0x08, (byte) 0x19, (byte) 0x08, (byte) 0xBE, (byte) 0x04, (byte) 0x60, (byte) 0xB8, (byte) 0x00, (byte) 0x12, (byte) 0xC0, (byte) 0x00, (byte) 0x13, (byte) 0x3A, (byte) 0x08, (byte) 0x19, (byte) 0x08, (byte) 0x19, (byte) 0x08, (byte) 0xBE, (byte) 0x04, (byte) 0x64, (byte) 0x12, (byte) 0x0F, (byte) 0x53, (byte) 0xBB, (byte) 0x00, (byte) 0x02, (byte) 0x59, (byte) 0x2A, (byte) 0x2C, (byte) 0x2B, (byte) 0x19, (byte) 0x04, (byte) 0x19, (byte) 0x05, (byte) 0x19, (byte) 0x06, (byte) 0x15, (byte) 0x0B, (byte) 0x19, (byte) 0x08, (byte) 0x19, (byte) 0x09, (byte) 0xB7, (byte) 0x00, (byte) 0x05, (byte) 0x3A, (byte) 0x0C, (byte) 0x19, (byte) 0x0C, (byte) 0xB6, (byte) 0x00, (byte) 0x06, (byte) 0x19, (byte) 0x0C, (byte) 0xB6, (byte) 0x00, (byte) 0x07, (byte) 0xB0, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x7E, (byte) 0x00, (byte) 0x1F, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0xAF, (byte) 0x00, (byte) 0x08, (byte) 0x01, (byte) 0xB0, (byte) 0x00, (byte) 0x10, (byte) 0x01, (byte) 0xB1, (byte) 0x00, (byte) 0x18, (byte) 0x01, (byte) 0xB2, (byte) 0x00, (byte) 0x23, (byte) 0x01, (byte) 0xB5, (byte) 0x00, (byte) 0x26, (byte) 0x01, (byte) 0xB6, (byte) 0x00, (byte) 0x2D, (byte) 0x01, (byte) 0xB7, (byte) 0x00, (byte) 0x3C, (byte) 0x01, (byte) 0xB8, (byte) 0x00, (byte) 0x43, (byte) 0x01, (byte) 0xB9, (byte) 0x00, (byte) 0x4E, (byte) 0x01, (byte) 0xBA, (byte) 0x00, (byte) 0x55, (byte) 0x01, (byte) 0xBB, (byte) 0x00, (byte) 0x58, (byte) 0x01, (byte) 0xBD, (byte) 0x00, (byte) 0x5D, (byte) 0x01, (byte) 0xBE, (byte) 0x00, (byte) 0x64, (byte) 0x01, (byte) 0xBF, (byte) 0x00, (byte) 0x73, (byte) 0x01, (byte) 0xC0, (byte) 0x00, (byte) 0x7A, (byte) 0x01, (byte) 0xC1, (byte) 0x00, (byte) 0x85, (byte) 0x01, (byte) 0xC2, (byte) 0x00, (byte) 0x8C, (byte) 0x01, (byte) 0xC3, (byte) 0x00, (byte) 0x8F, (byte) 0x01, (byte) 0xC5, (byte) 0x00, (byte) 0x94, (byte) 0x01, (byte) 0xC7, (byte) 0x00, (byte) 0xA2, (byte) 0x01, (byte) 0xC8, (byte) 0x00, (byte) 0xA7, (byte) 0x01, (byte) 0xC9, (byte) 0x00, (byte) 0xB2, (byte) 0x01, (byte) 0xCA, (byte) 0x00, (byte) 0xCC, (byte) 0x01, (byte) 0xCB, (byte) 0x00, (byte) 0xD8, (byte) 0x01, (byte) 0xCA, (byte) 0x00, (byte) 0xDE, (byte) 0x01, (byte) 0xCC, (byte) 0x00, (byte) 0xE3, (byte) 0x01, (byte) 0xCD, (byte) 0x00, (byte) 0xF2, (byte) 0x01, (byte) 0xCE, (byte) 0x00, (byte) 0xFC, (byte) 0x01, (byte) 0xD2, (byte) 0x01, (byte) 0x14, (byte) 0x01, (byte) 0xD9, (byte) 0x01, (byte) 0x19, (byte) 0x01, (byte) 0xDA, (byte) 0x00, (byte) 0x30, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x9D, (byte) 0x00, (byte) 0x09, (byte) 0xFF, (byte) 0x00, (byte) 0x58, (byte) 0x00, (byte) 0x0B, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0xFF, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x0B, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x31, (byte) 0xFF, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x0B, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x07, (byte) 0x00, (byte) 0x36, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x0A, (byte) 0x40, (byte) 0x01, (byte) 0xFF, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x10, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x07, (byte) 0x00, (byte) 0x36, (byte) 0x01, (byte) 0x01, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x01, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0xF8, (byte) 0x00, (byte) 0x1F, (byte) 0xFA, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x2C, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x2D, (byte) 0x00, (byte) 0x08, (byte) 0x00, (byte) 0x37, (byte) 0x00, (byte) 0x24, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x2B, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0F, (byte) 0x03, (byte) 0xBD, (byte) 0x00, (byte) 0x0D, (byte) 0xB3, (byte) 0x00, (byte) 0x03, (byte) 0x03, (byte) 0xBD, (byte) 0x00, (byte) 0x08, (byte) 0xB3, (byte) 0x00, (byte) 0x04, (byte) 0xB1, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0A, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0xEA, (byte) 0x00, (byte) 0x07, (byte) 0x00, (byte) 0xEB, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x38, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x39, (byte) 0x00, (byte) 0x2A, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0A, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x28, (byte) 0x00, (byte) 0x50, (byte) 0x00, (byte) 0x29, (byte) 0x00, (byte) 0x19};
+
+    private VirtualJava8Root() {
+    }
+
+    /**
+     * Archive root with java 8 stubs
+     *
+     * @return root URL
+     */
+    public static synchronized URL getRoot() {
+        if (root == null) {
+            try {
+                materialize();
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Unable to create virtual java 8 root", ex);
+            }
+            root = FileUtil.urlForArchiveOrDir(FileUtil.normalizeFile(ARCHIVE));
+        }
+        return root;
+    }
+
+    /**
+     * Shared boot classpath of virtual java 8 root
+     *
+     * @return classpath
+     */
+    public static synchronized ClassPath getClassPath() {
+        if (classPath == null) {
+            classPath = ClassPathSupport.createClassPath(new URL[]{getRoot()});
+        }
+        return classPath;
+    }
+
+    public static boolean isVirtualRoot(FileObject fo) {
+        FileObject archive = FileUtil.getArchiveFile(fo);
+        return archive != null && FileUtil.normalizeFile(ARCHIVE).equals(FileUtil.toFile(archive));
+    }
+
+    private static void materialize() throws IOException {
+        byte[] content = createArchive();
+        if (ARCHIVE.isFile() && ARCHIVE.length() == content.length
+                && Arrays.equals(content, Files.readAllBytes(ARCHIVE.toPath()))) {
+            return;
+        }
+        File tmp = new File(ARCHIVE.getParentFile(), ARCHIVE.getName() + ".tmp");
+        Files.write(tmp.toPath(), content);
+        Files.move(tmp.toPath(), ARCHIVE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static byte[] createArchive() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String dir : new String[]{"java/", "java/lang/", "java/lang/invoke/", "java/util/", "java/util/stream/"}) {
+                putEntry(zip, dir, null);
+            }
+            putEntry(zip, LAMBDA_METAFACTORY, lambda);
+            putEntry(zip, STREAMS, new byte[0]);
+        }
+        return out.toByteArray();
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, byte[] data) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(ENTRY_TIME);
+        zip.putNextEntry(entry);
+        if (data != null) {
+            zip.write(data);
+        }
+        zip.closeEntry();
+    }
+
+}
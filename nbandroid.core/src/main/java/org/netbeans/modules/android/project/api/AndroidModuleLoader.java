@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.netbeans.modules.android.project.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.event.ChangeListener;
+import nbandroid.gradle.spi.GradleBuildListener;
+import org.gradle.tooling.model.gradle.BasicGradleProject;
+import org.gradle.tooling.model.gradle.GradleBuild;
+import org.netbeans.api.project.Project;
+import org.netbeans.api.project.ProjectManager;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.util.ChangeSupport;
+import org.openide.util.Lookup;
+import org.openide.util.LookupEvent;
+import org.openide.util.LookupListener;
+import org.openide.util.RequestProcessor;
+import org.openide.util.WeakListeners;
+
+/**
+ * Loads modules of root project in parallel. Modules are discovered once from
+ * GradleBuild model of root (directory scan until the model arrives), module
+ * projects are constructed on bounded RequestProcessor and listeners are
+ * notified after each module is ready. Model requests of modules are posted
+ * together, so they are served by one Gradle fetch of root. Build of root is
+ * forwarded to build listeners of loaded modules.
+ *
+ * @author arsi
+ */
+public class AndroidModuleLoader implements LookupListener, GradleBuildListener {
+
+    private static final Logger LOG = Logger.getLogger(AndroidModuleLoader.class.getName());
+    private static final RequestProcessor RP = new RequestProcessor("Android module loader", Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+
+    private final NbAndroidRootProjectImpl root;
+    private final Lookup.Result<GradleBuild> buildResult;
+    private final ChangeSupport changeSupport = new ChangeSupport(this);
+    //module directory to project, null while module is loading
+    private final Map<FileObject, Project> modules = new LinkedHashMap<>();
+    private boolean fromModel = false;
+
+    public AndroidModuleLoader(NbAndroidRootProjectImpl root) {
+        this.root = root;
+        buildResult = root.getLookup().lookupResult(GradleBuild.class);
+        buildResult.addLookupListener(WeakListeners.create(LookupListener.class, this, buildResult));
+    }
+
+    /**
+     * Start discovery of modules
+     */
+    public void start() {
+        resultChanged(null);
+    }
+
+    @Override
+    public void resultChanged(LookupEvent ev) {
+        GradleBuild build = root.getLookup().lookup(GradleBuild.class);
+        if (build != null) {
+            discover(fromModel(build), true);
+        } else {
+            synchronized (modules) {
+                if (fromModel) {
+                    return;
+                }
+            }
+            discover(fromDirectory(), false);
+        }
+    }
+
+    private Set<FileObject> fromModel(GradleBuild build) {
+        Set<FileObject> dirs = new LinkedHashSet<>();
+        for (BasicGradleProject gradleProject : build.getProjects()) {
+            File dir = gradleProject.getProjectDirectory();
+            FileObject fo = dir != null ? FileUtil.toFileObject(FileUtil.normalizeFile(dir)) : null;
+            if (fo != null && !fo.equals(root.getProjectDirectory())) {
+                dirs.add(fo);
+            }
+        }
+        return dirs;
+    }
+
+    private Set<FileObject> fromDirectory() {
+        Set<FileObject> dirs = new LinkedHashSet<>();
+        Enumeration<? extends FileObject> children = root.getProjectDirectory().getChildren(false);
+        while (children.hasMoreElements()) {
+            FileObject fo = children.nextElement();
+            if (fo.isFolder() && NbAndroidProjectFactory.isSubProject(fo)) {
+                dirs.add(fo);
+            }
+        }
+        return dirs;
+    }
+
+    private void discover(Set<FileObject> dirs, boolean model) {
+        List<FileObject> toLoad = new ArrayList<>();
+        boolean removed;
+        synchronized (modules) {
+            fromModel |= model;
+            removed = modules.keySet().retainAll(dirs);
+            for (FileObject dir : dirs) {
+                if (!modules.containsKey(dir)) {
+                    modules.put(dir, null);
+                    toLoad.add(dir);
+                }
+            }
+        }
+        for (final FileObject dir : toLoad) {
+            RP.post(new Runnable() {
+                @Override
+                public void run() {
+                    load(dir);
+                }
+            });
+        }
+        if (removed) {
+            changeSupport.fireChange();
+        }
+    }
+
+    private void load(FileObject dir) {
+        Project project = null;
+        try {
+            project = ProjectManager.getDefault().findProject(dir);
+        } catch (IOException | IllegalArgumentException ex) {
+            LOG.log(Level.INFO, "Unable to load module " + dir.getPath(), ex);
+        }
+        if (project == null) {
+            return;
+        }
+        synchronized (modules) {
+            if (!modules.containsKey(dir)) {
+                return;
+            }
+            modules.put(dir, project);
+        }
+        changeSupport.fireChange();
+    }
+
+    /**
+     * Modules loaded so far, in order of settings.gradle
+     *
+     * @return ready modules
+     */
+    public List<Project> getModules() {
+        List<Project> tmp = new ArrayList<>();
+        synchronized (modules) {
+            for (Project project : modules.values()) {
+                if (project != null) {
+                    tmp.add(project);
+                }
+            }
+        }
+        return tmp;
+    }
+
+    /**
+     * Request models of all loaded modules back to back, pending requests of
+     * one root are served by single fetch
+     */
+    public void refreshModels() {
+        for (Project project : getModules()) {
+            if (project instanceof NbAndroidProjectImpl) {
+                NbAndroidProject.RP.execute((NbAndroidProjectImpl) project);
+            }
+        }
+    }
+
+    @Override
+    public void buildStarted() {
+        for (Project project : getModules()) {
+            for (GradleBuildListener listener : project.getLookup().lookupAll(GradleBuildListener.class)) {
+                listener.buildStarted();
+            }
+        }
+    }
+
+    @Override
+    public void buildFinished() {
+        for (Project project : getModules()) {
+            for (GradleBuildListener listener : project.getLookup().lookupAll(GradleBuildListener.class)) {
+                listener.buildFinished();
+            }
+        }
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        changeSupport.addChangeListener(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeSupport.removeChangeListener(listener);
+    }
+
+}
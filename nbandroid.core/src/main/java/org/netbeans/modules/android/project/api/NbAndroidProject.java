@@ -39,6 +39,7 @@ import nbandroid.gradle.spi.GradleCommandExecutorProvider;
 import nbandroid.gradle.spi.GradleHandler;
 import nbandroid.gradle.spi.GradleJvmConfiguration;
 import nbandroid.gradle.spi.ModelRefresh;
+import org.nbandroid.netbeans.gradle.v2.gradle.ModelReloadCoordinator;
 import org.nbandroid.netbeans.gradle.v2.sdk.AndroidSdk;
 import org.nbandroid.netbeans.gradle.v2.sdk.AndroidSdkImpl;
 import org.nbandroid.netbeans.gradle.v2.sdk.AndroidSdkProvider;
@@ -112,13 +113,14 @@ public abstract class NbAndroidProject extends ProjectOpenedHook implements Proj
     protected final AuxiliaryConfiguration auxiliaryConfig = new AuxiliaryConfigImpl(this);
     protected final AuxiliaryProperties auxiliaryProperties = new AndroidProjectPropsImpl(auxiliaryConfig);
     protected final CopyOnWriteArrayList lastModels = new CopyOnWriteArrayList();
-    protected final BuildMutex buildMutex = Lookup.getDefault().lookup(BuildMutexProvider.class).create();
+    protected final BuildMutex buildMutex;
     protected GradleCommandExecutor gradleCommandExecutor;
     protected GradleJvmConfiguration gradleJvmConfiguration;
     protected GradleArgsConfiguration gradleArgsConfiguration;
 
     public NbAndroidProject(FileObject projectDirectory, ProjectState ps) {
         this.projectDirectory = projectDirectory;
+        buildMutex = Lookup.getDefault().lookup(BuildMutexProvider.class).create(projectDirectory);
         ic.add(buildMutex);
         ic.add(this);
         ic.add(getProjectActionProvider());
@@ -159,6 +161,7 @@ public abstract class NbAndroidProject extends ProjectOpenedHook implements Proj
         gradleCommandExecutor = Lookup.getDefault().lookup(GradleCommandExecutorProvider.class).create(this);
         ic.add(gradleCommandExecutor);
         RP.execute(this);
+        ModelReloadCoordinator.getDefault().register(this);
         try {
             registerLookup();
         } catch (Exception e) {
@@ -173,6 +176,8 @@ public abstract class NbAndroidProject extends ProjectOpenedHook implements Proj
         if (localPropertiesFo!=null) {
             localPropertiesFo.removeFileChangeListener(this);
         }
+        ModelReloadCoordinator.getDefault().unregister(this);
+        GradleHandler.getDefault().projectClosed(this);
     }
 
     public abstract ModelRefresh getModelRefresh();
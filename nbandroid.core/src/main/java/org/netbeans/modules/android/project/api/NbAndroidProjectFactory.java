@@ -19,12 +19,13 @@
 package org.netbeans.modules.android.project.api;
 
 import java.awt.Image;
+import java.io.File;
 import java.io.IOException;
 import java.util.Enumeration;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.swing.ImageIcon;
-import org.nbandroid.netbeans.gradle.v2.gradle.FindAndroidVisitor;
+import org.nbandroid.netbeans.gradle.v2.gradle.AndroidProjectDetector;
 import org.netbeans.api.annotations.common.StaticResource;
 import org.netbeans.api.project.Project;
 import org.netbeans.api.project.ProjectManager;
@@ -81,10 +82,8 @@ public class NbAndroidProjectFactory implements ProjectFactory2 {
         if (fo.isFolder()) {
             FileObject buildScript = fo.getFileObject(BUILD_GRADLE);
             if (buildScript != null) {
-                try {
-                    return FindAndroidVisitor.visit(FileUtil.toFile(buildScript));
-                } catch (Exception ex) {
-                }
+                File file = FileUtil.toFile(buildScript);
+                return file != null && AndroidProjectDetector.isAndroidProject(file);
             }
         }
         return false;
@@ -36,7 +36,9 @@ import org.gradle.tooling.model.gradle.GradleBuild;
 import org.nbandroid.netbeans.gradle.api.TestOutputConsumer;
 import org.nbandroid.netbeans.gradle.launch.Launches;
 import org.nbandroid.netbeans.gradle.testrunner.TestOutputConsumerLookupProvider;
+import org.nbandroid.netbeans.gradle.v2.layout.CompletionWarmUp;
 import org.nbandroid.netbeans.gradle.v2.layout.parsers.AndroidResValuesProvider;
+import org.nbandroid.netbeans.gradle.v2.layout.parsers.AndroidResourceIndex;
 import org.netbeans.api.annotations.common.StaticResource;
 import org.netbeans.api.project.Project;
 import org.netbeans.api.project.ProjectInformation;
@@ -58,10 +60,12 @@ import org.netbeans.modules.android.project.query.AutoAndroidSourceForBinaryQuer
 import org.netbeans.modules.android.project.query.GradleAndroidManifest;
 import org.netbeans.modules.android.project.query.GradlePlatformResolver;
 import org.netbeans.modules.android.project.query.GradleSourceForBinaryQuery;
+import org.netbeans.modules.android.project.query.LibraryRootRegistry;
 import org.netbeans.modules.android.project.query.ProjectRefResolver;
 import org.netbeans.modules.android.project.run.AndroidTestRunConfiguration;
 import org.netbeans.modules.android.project.sources.AndroidSources;
 import org.netbeans.modules.android.project.sources.SourceLevelQueryImpl;
+import org.netbeans.modules.android.project.sources.generated.GeneratedSourcesWatcher;
 import org.netbeans.modules.android.project.tasks.UserTasksConfiguration;
 import org.netbeans.modules.android.spi.DebugActivityConfiguration;
 import org.netbeans.modules.android.spi.RunActivityConfiguration;
@@ -100,6 +104,7 @@ public class NbAndroidProjectImpl extends NbAndroidProject {
     protected final GradleLaunchExecutor launchExecutor = new GradleLaunchExecutor(this);
     private final SelectDeviceProjectAction selectDeviceProjectAction = new SelectDeviceProjectAction(this);
     private final ConfigurationsProjectAction configurationsProjectAction ;
+    private CompletionWarmUp completionWarmUp;
 
     public NbAndroidProjectImpl(FileObject projectDirectory, ProjectState ps) {
         super(projectDirectory, ps);
@@ -134,6 +139,7 @@ public class NbAndroidProjectImpl extends NbAndroidProject {
         ic.add(new AndroidSources(this, buildVariant));
         ic.add(new GradleAndroidManifest(this, buildVariant));
         ic.add(new GradleSourceForBinaryQuery(this, buildVariant));
+        ic.add(new GeneratedSourcesWatcher(this, buildVariant));
         androidClassPathProvider = new AndroidClassPathProvider(buildVariant, this);
         ic.add(androidClassPathProvider);
         ic.add(new GradleDebugInfo(this));
@@ -143,7 +149,21 @@ public class NbAndroidProjectImpl extends NbAndroidProject {
         ic.add(new TestOutputConsumerLookupProvider().createAdditionalLookup(
                 Lookups.singleton(this)).lookup(TestOutputConsumer.class));
         ic.add(new UserTasksConfiguration(this));
-        ic.add(new AndroidResValuesProvider(this));
+        AndroidResourceIndex resourceIndex = new AndroidResourceIndex(this, buildVariant);
+        ic.add(resourceIndex);
+        ic.add(new AndroidResValuesProvider(resourceIndex));
+        completionWarmUp = new CompletionWarmUp(this);
+    }
+
+    @Override
+    protected void projectClosed() {
+        super.projectClosed();
+        if (completionWarmUp != null) {
+            completionWarmUp.cancel();
+        }
+        if (androidClassPathProvider != null) {
+            LibraryRootRegistry.getDefault().releaseAll(androidClassPathProvider);
+        }
     }
 
     @Override
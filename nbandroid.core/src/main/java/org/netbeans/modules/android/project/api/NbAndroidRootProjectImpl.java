@@ -21,7 +21,6 @@ package org.netbeans.modules.android.project.api;
 import java.awt.Image;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import javax.swing.Action;
 import javax.swing.Icon;
@@ -32,7 +31,6 @@ import nbandroid.gradle.spi.ModelRefresh;
 import nbandroid.gradle.spi.RootGoalsNavigatorHint;
 import org.gradle.tooling.model.gradle.GradleBuild;
 import org.netbeans.api.annotations.common.StaticResource;
-import org.netbeans.api.project.FileOwnerQuery;
 import org.netbeans.api.project.Project;
 import org.netbeans.api.project.ProjectInformation;
 import org.netbeans.modules.android.project.actions.RootProjectActionProvider;
@@ -69,17 +67,21 @@ public class NbAndroidRootProjectImpl extends NbAndroidProject {
     @StaticResource()
     public static final String PROJECT_ICON = "org/netbeans/modules/android/api/root_project.png";
      private final ConfigurationsProjectAction configurationsProjectAction ;
+    private final AndroidModuleLoader moduleLoader;
 
     public NbAndroidRootProjectImpl(FileObject projectDirectory, ProjectState ps) {
         super(projectDirectory, ps);
         ic.add((ProjectInformation) new Info());
         configurationsProjectAction = new ConfigurationsProjectAction(this);
+        moduleLoader = new AndroidModuleLoader(this);
     }
 
     @Override
     protected void registerLookup() {
         ic.add(new NbAndroidProjectConfigurationProvider(auxiliaryProperties));
         ic.add(new AndroidRootCustomizerProvider(this));
+        ic.add(moduleLoader);
+        moduleLoader.start();
     }
 
     @Override
@@ -103,21 +105,7 @@ public class NbAndroidRootProjectImpl extends NbAndroidProject {
             @Override
             public void refreshModels() {
                 RP.execute(NbAndroidRootProjectImpl.this);
-                RP.execute(new Runnable() {
-                    @Override
-                    public void run() {
-                        Enumeration<? extends FileObject> children = getProjectDirectory().getChildren(false);
-                        while (children.hasMoreElements()) {
-                            FileObject fo = children.nextElement();
-                            if (fo.isFolder()) {
-                                Project owner = FileOwnerQuery.getOwner(fo);
-                                if (owner instanceof NbAndroidProjectImpl) {
-                                    RP.execute((NbAndroidProjectImpl) owner);
-                                }
-                            }
-                        }
-                    }
-                });
+                moduleLoader.refreshModels();
             }
         };
     }
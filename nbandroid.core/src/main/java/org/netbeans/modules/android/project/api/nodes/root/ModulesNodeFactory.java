@@ -24,11 +24,14 @@ import java.util.Collection;
 import java.util.Enumeration;
 import java.util.List;
 import javax.swing.Action;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import org.netbeans.api.annotations.common.StaticResource;
 import org.netbeans.api.project.FileOwnerQuery;
 import org.netbeans.api.project.Project;
 import org.netbeans.api.project.ProjectManager;
 import org.netbeans.api.project.ui.OpenProjects;
+import org.netbeans.modules.android.project.api.AndroidModuleLoader;
 import org.netbeans.modules.android.project.api.nodes.NodeFactory;
 import org.netbeans.modules.android.project.api.nodes.NodeUtils;
 import org.netbeans.modules.project.ui.api.ProjectActionUtils;
@@ -41,6 +44,7 @@ import org.openide.util.HelpCtx;
 import org.openide.util.ImageUtilities;
 import org.openide.util.Lookup;
 import org.openide.util.RequestProcessor;
+import org.openide.util.WeakListeners;
 import org.openide.util.actions.NodeAction;
 import org.openide.util.actions.SystemAction;
 import org.openide.util.lookup.Lookups;
@@ -85,12 +89,22 @@ public class ModulesNodeFactory implements NodeFactory {
 
     }
 
-    public class ModuleChildrens extends Children.Keys<Node> {
+    public class ModuleChildrens extends Children.Keys<Node> implements ChangeListener {
 
         private final Project project;
+        private final AndroidModuleLoader moduleLoader;
 
         public ModuleChildrens(Project project) {
             this.project = project;
+            moduleLoader = project.getLookup().lookup(AndroidModuleLoader.class);
+            if (moduleLoader != null) {
+                moduleLoader.addChangeListener(WeakListeners.change(this, moduleLoader));
+            }
+            findModules();
+        }
+
+        @Override
+        public void stateChanged(ChangeEvent e) {
             findModules();
         }
 
@@ -102,6 +116,21 @@ public class ModulesNodeFactory implements NodeFactory {
         private void findModules() {
             List<Node> nodes = new ArrayList<>();
             Collection<? extends ProjectFactory2> factory2s = Lookup.getDefault().lookupAll(ProjectFactory2.class);
+            if (moduleLoader != null) {
+                //modules are added as they are loaded
+                for (Project module : moduleLoader.getModules()) {
+                    FileObject fo = module.getProjectDirectory();
+                    for (ProjectFactory2 factory2 : factory2s) {
+                        ProjectManager.Result result = factory2.isProject2(fo);
+                        if (result != null) {
+                            nodes.add(new SubProjectNode(result, fo, project));
+                            break;
+                        }
+                    }
+                }
+                setKeys(nodes);
+                return;
+            }
             Enumeration<? extends FileObject> childrens = project.getProjectDirectory().getChildren(false);
             while (childrens.hasMoreElements()) {
                 FileObject fo = childrens.nextElement();
@@ -34,6 +34,7 @@ public class GradleJvmConfigPanel extends javax.swing.JPanel {
         initComponents();
         this.jvmConfiguration = jvmConfiguration;
         if (jvmConfiguration != null) {
+            overrideHeap.setSelected(jvmConfiguration.isOverrideHeap());
             min.setValue(jvmConfiguration.getMinHeapInt());
             max.setValue(jvmConfiguration.getMaxHeapInt());
             if (jvmConfiguration.getCustom() != null) {
@@ -42,6 +43,18 @@ public class GradleJvmConfigPanel extends javax.swing.JPanel {
                 custom.setText("");
             }
         }
+        overrideHeap.addActionListener(new java.awt.event.ActionListener() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                updateHeapEnabled();
+            }
+        });
+        updateHeapEnabled();
+    }
+
+    private void updateHeapEnabled() {
+        min.setEnabled(overrideHeap.isSelected());
+        max.setEnabled(overrideHeap.isSelected());
     }
 
     /**
@@ -53,6 +66,7 @@ public class GradleJvmConfigPanel extends javax.swing.JPanel {
     // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
     private void initComponents() {
 
+        overrideHeap = new javax.swing.JCheckBox();
         jLabel1 = new javax.swing.JLabel();
         min = new javax.swing.JSpinner();
         jLabel2 = new javax.swing.JLabel();
@@ -63,6 +77,8 @@ public class GradleJvmConfigPanel extends javax.swing.JPanel {
         jScrollPane2 = new javax.swing.JScrollPane();
         custom = new javax.swing.JTextPane();
 
+        org.openide.awt.Mnemonics.setLocalizedText(overrideHeap, org.openide.util.NbBundle.getMessage(GradleJvmConfigPanel.class, "GradleJvmConfigPanel.overrideHeap.text")); // NOI18N
+
         org.openide.awt.Mnemonics.setLocalizedText(jLabel1, org.openide.util.NbBundle.getMessage(GradleJvmConfigPanel.class, "GradleJvmConfigPanel.jLabel1.text")); // NOI18N
 
         min.setModel(new javax.swing.SpinnerNumberModel(800, 200, null, 100));
@@ -101,7 +117,8 @@ public class GradleJvmConfigPanel extends javax.swing.JPanel {
                                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                                     .addComponent(jLabel2)
                                     .addComponent(jLabel4)))
-                            .addComponent(jLabel5))
+                            .addComponent(jLabel5)
+                            .addComponent(overrideHeap))
                         .addGap(0, 47, Short.MAX_VALUE)))
                 .addContainerGap())
         );
@@ -109,6 +126,8 @@ public class GradleJvmConfigPanel extends javax.swing.JPanel {
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(layout.createSequentialGroup()
                 .addContainerGap()
+                .addComponent(overrideHeap)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(jLabel1)
                     .addComponent(min, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
@@ -137,10 +156,12 @@ public class GradleJvmConfigPanel extends javax.swing.JPanel {
     private javax.swing.JScrollPane jScrollPane2;
     private javax.swing.JSpinner max;
     private javax.swing.JSpinner min;
+    private javax.swing.JCheckBox overrideHeap;
     // End of variables declaration//GEN-END:variables
 
     public void store() {
         if (jvmConfiguration != null) {
+            jvmConfiguration.setOverrideHeap(overrideHeap.isSelected());
             Integer value = (Integer) min.getValue();
             jvmConfiguration.setMinHeap(value.toString());
             value = (Integer) max.getValue();
@@ -24,12 +24,12 @@ import com.android.builder.model.AndroidProject;
 import com.android.builder.model.BuildTypeContainer;
 import com.android.builder.model.Dependencies;
 import com.android.builder.model.JavaLibrary;
+import com.android.builder.model.Library;
 import com.android.builder.model.ProductFlavorContainer;
 import com.android.builder.model.SourceProviderContainer;
 import com.android.builder.model.Variant;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -38,15 +38,17 @@ import com.google.common.collect.Sets;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -75,7 +77,9 @@ import org.netbeans.api.project.Project;
 import org.netbeans.api.project.ProjectManager;
 import org.netbeans.api.project.ProjectUtils;
 import org.netbeans.api.project.SourceGroup;
+import org.netbeans.api.project.Sources;
 import org.netbeans.modules.android.project.build.BuildVariant;
+import org.netbeans.modules.android.project.query.LibraryRootRegistry.LibraryRoot;
 import org.netbeans.modules.android.project.sources.generated.RTools;
 import org.netbeans.spi.java.classpath.ClassPathFactory;
 import org.netbeans.spi.java.classpath.ClassPathImplementation;
@@ -91,9 +95,7 @@ import org.openide.filesystems.FileEvent;
 import org.openide.filesystems.FileObject;
 import org.openide.filesystems.FileRenameEvent;
 import org.openide.filesystems.FileUtil;
-import org.openide.modules.Places;
 import org.openide.util.ChangeSupport;
-import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
 import org.openide.util.LookupEvent;
 import org.openide.util.LookupListener;
@@ -119,7 +121,10 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
     }
 
     private static final Logger LOG = Logger.getLogger(AndroidClassPathProvider.class.getName());
-    private Map<URL, ArtifactData> artifactDatas = new HashMap<>();
+    private static final RequestProcessor RP = new RequestProcessor(AndroidClassPathProvider.class.getName(), 1);
+    private static final int REFRESH_DELAY = 100;
+    //ArtifactData is resolved from shared root on lookup, it is rebound when its project releases the root
+    private volatile Map<URL, LibraryRoot> libraryRoots = new HashMap<>();
     private ClassPath source, compile, execute, test, testCompile, boot;
     private final BuildVariant buildConfig;
     private final Set<Refreshable> refreshables = Sets.newHashSet();
@@ -129,42 +134,6 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
     private final ChangeSupport cs = new ChangeSupport(this);
     private final Lookup.Result<AndroidProject> lookupResultProjectModel;
 
-    //ARSI: Create virtual java package to override NB java 8 support check
-    public static final File VIRTUALJAVA8ROOT_DIR = Places.getCacheSubdirectory("android_virtual_java8");
-
-    private static final byte[] lambda = new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x34, (byte) 0x00, (byte) 0x67, (byte) 0x0A, (byte) 0x00, (byte) 0x14, (byte) 0x00, (byte) 0x3A, (byte) 0x07, (byte) 0x00, (byte) 0x3B, (byte) 0x09, (byte) 0x00, (byte) 0x0C, (byte) 0x00, (byte) 0x3C, (byte) 0x09, (byte) 0x00, (byte) 0x0C, (byte) 0x00, (byte) 0x3D, (byte) 0x0A, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x3E, (byte) 0x0A, (byte) 0x00, (byte) 0x3F, (byte) 0x00, (byte) 0x40, (byte) 0x0A, (byte) 0x00, (byte) 0x3F, (byte) 0x00, (byte) 0x41, (byte) 0x07, (byte) 0x00, (byte) 0x42, (byte) 0x07, (byte) 0x00, (byte) 0x43, (byte) 0x07, (byte) 0x00, (byte) 0x44, (byte) 0x0A, (byte) 0x00, (byte) 0x0A, (byte) 0x00, (byte) 0x45, (byte) 0x07, (byte) 0x00, (byte) 0x46, (byte) 0x07, (byte) 0x00, (byte) 0x47, (byte) 0x0A, (byte) 0x00, (byte) 0x48, (byte) 0x00, (byte) 0x49, (byte) 0x07, (byte) 0x00, (byte) 0x4A, (byte) 0x0A, (byte) 0x00, (byte) 0x08, (byte) 0x00, (byte) 0x4B, (byte) 0x0A, (byte) 0x00, (byte) 0x0D, (byte) 0x00, (byte) 0x4C, (byte) 0x0A, (byte) 0x00, (byte) 0x4D, (byte) 0x00, (byte) 0x4E, (byte) 0x07, (byte) 0x00, (byte) 0x1E, (byte) 0x07, (byte) 0x00, (byte) 0x4F, (byte) 0x01, (byte) 0x00, (byte) 0x11, (byte) 0x46, (byte) 0x4C, (byte) 0x41, (byte) 0x47, (byte) 0x5F, (byte) 0x53, (byte) 0x45, (byte) 0x52, (byte) 0x49, (byte) 0x41, (byte) 0x4C, (byte) 0x49, (byte) 0x5A, (byte) 0x41, (byte) 0x42, (byte) 0x4C, (byte) 0x45, (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x49, (byte) 0x01, (byte) 0x00, (byte) 0x0D, (byte) 0x43, (byte) 0x6F, (byte) 0x6E, (byte) 0x73, (byte) 0x74, (byte) 0x61, (byte) 0x6E, (byte) 0x74, (byte) 0x56, (byte) 0x61, (byte) 0x6C, (byte) 0x75, (byte) 0x65, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x01, (byte) 0x00, (byte) 0x0C, (byte) 0x46, (byte) 0x4C, (byte) 0x41, (byte) 0x47, (byte) 0x5F, (byte) 0x4D, (byte) 0x41, (byte) 0x52, (byte) 0x4B, (byte) 0x45, (byte) 0x52, (byte) 0x53, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x01, (byte) 0x00, (byte) 0x0C, (byte) 0x46, (byte) 0x4C, (byte) 0x41, (byte) 0x47, (byte) 0x5F, (byte) 0x42, (byte) 0x52, (byte) 0x49, (byte) 0x44, (byte) 0x47, (byte) 0x45, (byte) 0x53, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x01, (byte) 0x00, (byte) 0x11, (byte) 0x45, (byte) 0x4D, (byte) 0x50, (byte) 0x54, (byte) 0x59, (byte) 0x5F, (byte) 0x43, (byte) 0x4C, (byte) 0x41, (byte) 0x53, (byte) 0x53, (byte) 0x5F, (byte) 0x41, (byte) 0x52, (byte) 0x52, (byte) 0x41, (byte) 0x59, (byte) 0x01, (byte) 0x00, (byte) 0x12, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x09, (byte) 0x53, (byte) 0x69, (byte) 0x67, (byte) 0x6E, (byte) 0x61, (byte) 0x74, (byte) 0x75, (byte) 0x72, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x15, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3C, (byte) 0x2A, (byte) 0x3E, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x0E, (byte) 0x45, (byte) 0x4D, (byte) 0x50, (byte) 0x54, (byte) 0x59, (byte) 0x5F, (byte) 0x4D, (byte) 0x54, (byte) 0x5F, (byte) 0x41, (byte) 0x52, (byte) 0x52, (byte) 0x41, (byte) 0x59, (byte) 0x01, (byte) 0x00, (byte) 0x1E, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x06, (byte) 0x3C, (byte) 0x69, (byte) 0x6E, (byte) 0x69, (byte) 0x74, (byte) 0x3E, (byte) 0x01, (byte) 0x00, (byte) 0x03, (byte) 0x28, (byte) 0x29, (byte) 0x56, (byte) 0x01, (byte) 0x00, (byte) 0x04, (byte) 0x43, (byte) 0x6F, (byte) 0x64, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x0F, (byte) 0x4C, (byte) 0x69, (byte) 0x6E, (byte) 0x65, (byte) 0x4E, (byte) 0x75, (byte) 0x6D, (byte) 0x62, (byte) 0x65, (byte) 0x72, (byte) 0x54, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x0B, (byte) 0x6D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x07, (byte) 0x00, (byte) 0x51, (byte) 0x01, (byte) 0x00, (byte) 0x06, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x01, (byte) 0x00, (byte) 0x0C, (byte) 0x49, (byte) 0x6E, (byte) 0x6E, (byte) 0x65, (byte) 0x72, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x65, (byte) 0x73, (byte) 0x01, (byte) 0x00, (byte) 0xCC, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x0A, (byte) 0x45, (byte) 0x78, (byte) 0x63, (byte) 0x65, (byte) 0x70, (byte) 0x74, (byte) 0x69, (byte) 0x6F, (byte) 0x6E, (byte) 0x73, (byte) 0x07, (byte) 0x00, (byte) 0x52, (byte) 0x01, (byte) 0x00, (byte) 0x0E, (byte) 0x61, (byte) 0x6C, (byte) 0x74, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x86, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x0D, (byte) 0x53, (byte) 0x74, (byte) 0x61, (byte) 0x63, (byte) 0x6B, (byte) 0x4D, (byte) 0x61, (byte) 0x70, (byte) 0x54, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x07, (byte) 0x00, (byte) 0x51, (byte) 0x07, (byte) 0x00, (byte) 0x53, (byte) 0x07, (byte) 0x00, (byte) 0x42, (byte) 0x07, (byte) 0x00, (byte) 0x54, (byte) 0x07, (byte) 0x00, (byte) 0x43, (byte) 0x07, (byte) 0x00, (byte) 0x22, (byte) 0x01, (byte) 0x00, (byte) 0x08, (byte) 0x3C, (byte) 0x63, (byte) 0x6C, (byte) 0x69, (byte) 0x6E, (byte) 0x69, (byte) 0x74, (byte) 0x3E, (byte) 0x01, (byte) 0x00, (byte) 0x0A, (byte) 0x53, (byte) 0x6F, (byte) 0x75, (byte) 0x72, (byte) 0x63, (byte) 0x65, (byte) 0x46, (byte) 0x69, (byte) 0x6C, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x16, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x2E, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x0C, (byte) 0x00, (byte) 0x23, (byte) 0x00, (byte) 0x24, (byte) 0x01, (byte) 0x00, (byte) 0x2C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x49, (byte) 0x6E, (byte) 0x6E, (byte) 0x65, (byte) 0x72, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x0C, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x1E, (byte) 0x0C, (byte) 0x00, (byte) 0x21, (byte) 0x00, (byte) 0x22, (byte) 0x0C, (byte) 0x00, (byte) 0x23, (byte) 0x00, (byte) 0x55, (byte) 0x07, (byte) 0x00, (byte) 0x56, (byte) 0x0C, (byte) 0x00, (byte) 0x57, (byte) 0x00, (byte) 0x24, (byte) 0x0C, (byte) 0x00, (byte) 0x58, (byte) 0x00, (byte) 0x59, (byte) 0x01, (byte) 0x00, (byte) 0x1B, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x1D, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x11, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x49, (byte) 0x6E, (byte) 0x74, (byte) 0x65, (byte) 0x67, (byte) 0x65, (byte) 0x72, (byte) 0x0C, (byte) 0x00, (byte) 0x5A, (byte) 0x00, (byte) 0x5B, (byte) 0x01, (byte) 0x00, (byte) 0x22, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x0F, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x07, (byte) 0x00, (byte) 0x5C, (byte) 0x0C, (byte) 0x00, (byte) 0x5D, (byte) 0x00, (byte) 0x5E, (byte) 0x01, (byte) 0x00, (byte) 0x14, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x69, (byte) 0x6F, (byte) 0x2F, (byte) 0x53, (byte) 0x65, (byte) 0x72, (byte) 0x69, (byte) 0x61, (byte) 0x6C, (byte) 0x69, (byte) 0x7A, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x0C, (byte) 0x00, (byte) 0x5F, (byte) 0x00, (byte) 0x60, (byte) 0x0C, (byte) 0x00, (byte) 0x61, (byte) 0x00, (byte) 0x62, (byte) 0x07, (byte) 0x00, (byte) 0x63, (byte) 0x0C, (byte) 0x00, (byte) 0x64, (byte) 0x00, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x07, (byte) 0x00, (byte) 0x66, (byte) 0x01, (byte) 0x00, (byte) 0x25, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x01, (byte) 0x00, (byte) 0x2A, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x43, (byte) 0x6F, (byte) 0x6E, (byte) 0x76, (byte) 0x65, (byte) 0x72, (byte) 0x73, (byte) 0x69, (byte) 0x6F, (byte) 0x6E, (byte) 0x45, (byte) 0x78, (byte) 0x63, (byte) 0x65, (byte) 0x70, (byte) 0x74, (byte) 0x69, (byte) 0x6F, (byte) 0x6E, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x01, (byte) 0x00, (byte) 0x13, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0xE3, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x24, (byte) 0x4C, (byte) 0x6F, (byte) 0x6F, (byte) 0x6B, (byte) 0x75, (byte) 0x70, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x74, (byte) 0x72, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x3B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x5A, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x3B, (byte) 0x29, (byte) 0x56, (byte) 0x01, (byte) 0x00, (byte) 0x34, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x41, (byte) 0x62, (byte) 0x73, (byte) 0x74, (byte) 0x72, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x56, (byte) 0x61, (byte) 0x6C, (byte) 0x69, (byte) 0x64, (byte) 0x61, (byte) 0x74, (byte) 0x69, (byte) 0x6E, (byte) 0x67, (byte) 0x4C, (byte) 0x61, (byte) 0x6D, (byte) 0x62, (byte) 0x64, (byte) 0x61, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x76, (byte) 0x61, (byte) 0x6C, (byte) 0x69, (byte) 0x64, (byte) 0x61, (byte) 0x74, (byte) 0x65, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x61, (byte) 0x66, (byte) 0x61, (byte) 0x63, (byte) 0x74, (byte) 0x6F, (byte) 0x72, (byte) 0x79, (byte) 0x41, (byte) 0x72, (byte) 0x67, (byte) 0x73, (byte) 0x01, (byte) 0x00, (byte) 0x0D, (byte) 0x62, (byte) 0x75, (byte) 0x69, (byte) 0x6C, (byte) 0x64, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x1D, (byte) 0x28, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x43, (byte) 0x61, (byte) 0x6C, (byte) 0x6C, (byte) 0x53, (byte) 0x69, (byte) 0x74, (byte) 0x65, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x08, (byte) 0x69, (byte) 0x6E, (byte) 0x74, (byte) 0x56, (byte) 0x61, (byte) 0x6C, (byte) 0x75, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x03, (byte) 0x28, (byte) 0x29, (byte) 0x49, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x53, (byte) 0x79, (byte) 0x73, (byte) 0x74, (byte) 0x65, (byte) 0x6D, (byte) 0x01, (byte) 0x00, (byte) 0x09, (byte) 0x61, (byte) 0x72, (byte) 0x72, (byte) 0x61, (byte) 0x79, (byte) 0x63, (byte) 0x6F, (byte) 0x70, (byte) 0x79, (byte) 0x01, (byte) 0x00, (byte) 0x2A, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x49, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x49, (byte) 0x49, (byte) 0x29, (byte) 0x56, (byte) 0x01, (byte) 0x00, (byte) 0x0A, (byte) 0x72, (byte) 0x65, (byte) 0x74, (byte) 0x75, (byte) 0x72, (byte) 0x6E, (byte) 0x54, (byte) 0x79, (byte) 0x70, (byte) 0x65, (byte) 0x01, (byte) 0x00, (byte) 0x13, (byte) 0x28, (byte) 0x29, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x69, (byte) 0x73, (byte) 0x41, (byte) 0x73, (byte) 0x73, (byte) 0x69, (byte) 0x67, (byte) 0x6E, (byte) 0x61, (byte) 0x62, (byte) 0x6C, (byte) 0x65, (byte) 0x46, (byte) 0x72, (byte) 0x6F, (byte) 0x6D, (byte) 0x01, (byte) 0x00, (byte) 0x14, (byte) 0x28, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x43, (byte) 0x6C, (byte) 0x61, (byte) 0x73, (byte) 0x73, (byte) 0x3B, (byte) 0x29, (byte) 0x5A, (byte) 0x01, (byte) 0x00, (byte) 0x10, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x75, (byte) 0x74, (byte) 0x69, (byte) 0x6C, (byte) 0x2F, (byte) 0x41, (byte) 0x72, (byte) 0x72, (byte) 0x61, (byte) 0x79, (byte) 0x73, (byte) 0x01, (byte) 0x00, (byte) 0x06, (byte) 0x63, (byte) 0x6F, (byte) 0x70, (byte) 0x79, (byte) 0x4F, (byte) 0x66, (byte) 0x01, (byte) 0x00, (byte) 0x29, (byte) 0x28, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x49, (byte) 0x29, (byte) 0x5B, (byte) 0x4C, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x4F, (byte) 0x62, (byte) 0x6A, (byte) 0x65, (byte) 0x63, (byte) 0x74, (byte) 0x3B, (byte) 0x01, (byte) 0x00, (byte) 0x1E, (byte) 0x6A, (byte) 0x61, (byte) 0x76, (byte) 0x61, (byte) 0x2F, (byte) 0x6C, (byte) 0x61, (byte) 0x6E, (byte) 0x67, (byte) 0x2F, (byte) 0x69, (byte) 0x6E, (byte) 0x76, (byte) 0x6F, (byte) 0x6B, (byte) 0x65, (byte) 0x2F, (byte) 0x4D, (byte) 0x65, (byte) 0x74, (byte) 0x68, (byte) 0x6F, (byte) 0x64, (byte) 0x48, (byte) 0x61, (byte) 0x6E, (byte) 0x64, (byte) 0x6C, (byte) 0x65, (byte) 0x73, (byte) 0x00, (byte) 0x21, (byte) 0x00, (byte) 0x0C, (byte) 0x00, (byte) 0x14, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x05, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x15, (byte) 0x00, (byte) 0x16, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x18, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x16, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x1A, (byte) 0x00, (byte) 0x19, (byte) 0x00, (byte) 0x1B, (byte) 0x00, (byte) 0x16, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x17, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x1C, (byte) 0x00, (byte) 0x1A, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x1E, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x1F, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x20, (byte) 0x00, (byte) 0x1A, (byte) 0x00, (byte) 0x21, (byte) 0x00, (byte) 0x22, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x23, (byte) 0x00, (byte) 0x24, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x05, (byte) 0x2A, (byte) 0xB7, (byte) 0x00, (byte) 0x01, (byte) 0xB1, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x06, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0xD7, (byte) 0x00, (byte) 0x09, (byte) 0x00, (byte) 0x27, (byte) 0x00, (byte) 0x2B, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x43, (byte) 0x00, (byte) 0x0B, (byte) 0x00, (byte) 0x07, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x23, (byte) 0xBB, (byte) 0x00, (byte) 0x02, (byte) 0x59, (byte) 0x2A, (byte) 0x2C, (byte) 0x2B, (byte) 0x2D, (byte) 0x19, (byte) 0x04, (byte) 0x19, (byte) 0x05, (byte) 0x03, (byte) 0xB2, (byte) 0x00, (byte) 0x03, (byte) 0xB2, (byte) 0x00, (byte) 0x04, (byte) 0xB7, (byte) 0x00, (byte) 0x05, (byte) 0x3A, (byte) 0x06, (byte) 0x19, (byte) 0x06, (byte) 0xB6, (byte) 0x00, (byte) 0x06, (byte) 0x19, (byte) 0x06, (byte) 0xB6, (byte) 0x00, (byte) 0x07, (byte) 0xB0, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0E, (byte) 0x00, (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x2B, (byte) 0x00, (byte) 0x18, (byte) 0x01, (byte) 0x2F, (byte) 0x00, (byte) 0x1D, (byte) 0x01, (byte) 0x30, (byte) 0x00, (byte) 0x2C, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x2D, (byte) 0x00, (byte) 0x89, (byte) 0x00, (byte) 0x2E, (byte) 0x00, (byte) 0x2F, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x52, (byte) 0x00, (byte) 0x0B, (byte) 0x00, (byte) 0x11, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x1F, (byte) 0x2D, (byte) 0x03, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x08, (byte) 0x3A, (byte) 0x04, (byte) 0x2D, (byte) 0x04, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x09, (byte) 0x3A, (byte) 0x05, (byte) 0x2D, (byte) 0x05, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x08, (byte) 0x3A, (byte) 0x06, (byte) 0x2D, (byte) 0x06, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x0A, (byte) 0xB6, (byte) 0x00, (byte) 0x0B, (byte) 0x36, (byte) 0x07, (byte) 0x07, (byte) 0x36, (byte) 0x0A, (byte) 0x15, (byte) 0x07, (byte) 0x05, (byte) 0x7E, (byte) 0x99, (byte) 0x00, (byte) 0x2E, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x84, (byte) 0x0A, (byte) 0x01, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x0A, (byte) 0xB6, (byte) 0x00, (byte) 0x0B, (byte) 0x36, (byte) 0x0B, (byte) 0x15, (byte) 0x0B, (byte) 0xBD, (byte) 0x00, (byte) 0x0D, (byte) 0x3A, (byte) 0x08, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x19, (byte) 0x08, (byte) 0x03, (byte) 0x15, (byte) 0x0B, (byte) 0xB8, (byte) 0x00, (byte) 0x0E, (byte) 0x15, (byte) 0x0A, (byte) 0x15, (byte) 0x0B, (byte) 0x60, (byte) 0x36, (byte) 0x0A, (byte) 0xA7, (byte) 0x00, (byte) 0x08, (byte) 0xB2, (byte) 0x00, (byte) 0x03, (byte) 0x3A, (byte) 0x08, (byte) 0x15, (byte) 0x07, (byte) 0x07, (byte) 0x7E, (byte) 0x99, (byte) 0x00, (byte) 0x2E, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x84, (byte) 0x0A, (byte) 0x01, (byte) 0x32, (byte) 0xC0, (byte) 0x00, (byte) 0x0A, (byte) 0xB6, (byte) 0x00, (byte) 0x0B, (byte) 0x36, (byte) 0x0B, (byte) 0x15, (byte) 0x0B, (byte) 0xBD, (byte) 0x00, (byte) 0x08, (byte) 0x3A, (byte) 0x09, (byte) 0x2D, (byte) 0x15, (byte) 0x0A, (byte) 0x19, (byte) 0x09, (byte) 0x03, (byte) 0x15, (byte) 0x0B, (byte) 0xB8, (byte) 0x00, (byte) 0x0E, (byte) 0x15, (byte) 0x0A, (byte) 0x15, (byte) 0x0B, (byte) 0x60, (byte) 0x36, (byte) 0x0A, (byte) 0xA7, (byte) 0x00, (byte) 0x08, (byte) 0xB2, (byte) 0x00, (byte) 0x04, (byte) 0x3A, (byte) 0x09, (byte) 0x15, (byte) 0x07, (byte) 0x04, (byte) 0x7E, (byte) 0x99, (byte) 0x00, (byte) 0x07, (byte) 0x04, (byte) 0xA7, (byte) 0x00, (byte) 0x04, (byte) 0x03, (byte) 0x36, (byte) 0x0B, (byte) 0x15, (byte) 0x0B, (byte) 0x99, (byte) 0x00, (byte) 0x58, (byte) 0x12, (byte) 0x0F, (byte) 0x2C, (byte) 0xB6, (byte) 0x00, (byte) 0x10, (byte) 0xB6, (byte) 0x00, (byte) 0x11, (byte) 0x36, (byte) 0x0C, (byte) 0x19, (byte) 0x08, (byte) 0x3A, (byte) 0x0D, (byte) 0x19, (byte) 0x0D, (byte) 0xBE, (byte) 0x36, (byte) 0x0E, (byte) 0x03, (byte) 0x36, (byte) 0x0F, (byte) 0x15, (byte) 0x0F, (byte) 0x15, (byte) 0x0E, (byte) 0xA2, (byte) 0x00, (byte) 0x1C, (byte) 0x19, (byte) 0x0D, (byte) 0x15, (byte) 0x0F, (byte) 0x32, (byte) 0x3A, (byte) 0x10, (byte) 0x15, (byte) 0x0C, (byte) 0x12, (byte) 0x0F, (byte) 0x19, (byte) 0x10, (byte) 0xB6, (byte) 0x00, (byte) 0x11, (byte) 0x80, (byte) 0x36, (byte) 0x0C, (byte) 0x84, (byte) 0x0F, (byte) 0x01, (byte) 0xA7, (byte) 0xFF, (byte) 0xE3, (byte) 0x15, (byte) 0x0C, (byte) 0x9A, (byte) 0x00, (byte) 0x1C, (byte) 0x19, (byte) 0x08, (byte) 0x19, (byte) 0x08, (byte) 0xBE, (byte) 0x04, (byte) 0x60, (byte) 0xB8, (byte) 0x00, (byte) 0x12, (byte) 0xC0, (byte) 0x00, (byte) 0x13, (byte) 0x3A, (byte) 0x08, (byte) 0x19, (byte) 0x08, (byte) 0x19, (byte) 0x08, (byte) 0xBE, (byte) 0x04, (byte) 0x64, (byte) 0x12, (byte) 0x0F, (byte) 0x53, (byte) 0xBB, (byte) 0x00, (byte) 0x02, (byte) 0x59, (byte) 0x2A, (byte) 0x2C, (byte) 0x2B, (byte) 0x19, (byte) 0x04, (byte) 0x19, (byte) 0x05, (byte) 0x19, (byte) 0x06, (byte) 0x15, (byte) 0x0B, (byte) 0x19, (byte) 0x08, (byte) 0x19, (byte) 0x09, (byte) 0xB7, (byte) 0x00, (byte) 0x05, (byte) 0x3A, (byte) 0x0C, (byte) 0x19, (byte) 0x0C, (byte) 0xB6, (byte) 0x00, (byte) 0x06, (byte) 0x19, (byte) 0x0C, (byte) 0xB6, (byte) 0x00, (byte) 0x07, (byte) 0xB0, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x7E, (byte) 0x00, (byte) 0x1F, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0xAF, (byte) 0x00, (byte) 0x08, (byte) 0x01, (byte) 0xB0, (byte) 0x00, (byte) 0x10, (byte) 0x01, (byte) 0xB1, (byte) 0x00, (byte) 0x18, (byte) 0x01, (byte) 0xB2, (byte) 0x00, (byte) 0x23, (byte) 0x01, (byte) 0xB5, (byte) 0x00, (byte) 0x26, (byte) 0x01, (byte) 0xB6, (byte) 0x00, (byte) 0x2D, (byte) 0x01, (byte) 0xB7, (byte) 0x00, (byte) 0x3C, (byte) 0x01, (byte) 0xB8, (byte) 0x00, (byte) 0x43, (byte) 0x01, (byte) 0xB9, (byte) 0x00, (byte) 0x4E, (byte) 0x01, (byte) 0xBA, (byte) 0x00, (byte) 0x55, (byte) 0x01, (byte) 0xBB, (byte) 0x00, (byte) 0x58, (byte) 0x01, (byte) 0xBD, (byte) 0x00, (byte) 0x5D, (byte) 0x01, (byte) 0xBE, (byte) 0x00, (byte) 0x64, (byte) 0x01, (byte) 0xBF, (byte) 0x00, (byte) 0x73, (byte) 0x01, (byte) 0xC0, (byte) 0x00, (byte) 0x7A, (byte) 0x01, (byte) 0xC1, (byte) 0x00, (byte) 0x85, (byte) 0x01, (byte) 0xC2, (byte) 0x00, (byte) 0x8C, (byte) 0x01, (byte) 0xC3, (byte) 0x00, (byte) 0x8F, (byte) 0x01, (byte) 0xC5, (byte) 0x00, (byte) 0x94, (byte) 0x01, (byte) 0xC7, (byte) 0x00, (byte) 0xA2, (byte) 0x01, (byte) 0xC8, (byte) 0x00, (byte) 0xA7, (byte) 0x01, (byte) 0xC9, (byte) 0x00, (byte) 0xB2, (byte) 0x01, (byte) 0xCA, (byte) 0x00, (byte) 0xCC, (byte) 0x01, (byte) 0xCB, (byte) 0x00, (byte) 0xD8, (byte) 0x01, (byte) 0xCA, (byte) 0x00, (byte) 0xDE, (byte) 0x01, (byte) 0xCC, (byte) 0x00, (byte) 0xE3, (byte) 0x01, (byte) 0xCD, (byte) 0x00, (byte) 0xF2, (byte) 0x01, (byte) 0xCE, (byte) 0x00, (byte) 0xFC, (byte) 0x01, (byte) 0xD2, (byte) 0x01, (byte) 0x14, (byte) 0x01, (byte) 0xD9, (byte) 0x01, (byte) 0x19, (byte) 0x01, (byte) 0xDA, (byte) 0x00, (byte) 0x30, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x9D, (byte) 0x00, (byte) 0x09, (byte) 0xFF, (byte) 0x00, (byte) 0x58, (byte) 0x00, (byte) 0x0B, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0xFF, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x0B, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x31, (byte) 0xFF, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x0B, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x07, (byte) 0x00, (byte) 0x36, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x0A, (byte) 0x40, (byte) 0x01, (byte) 0xFF, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x10, (byte) 0x07, (byte) 0x00, (byte) 0x31, (byte) 0x07, (byte) 0x00, (byte) 0x32, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x34, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x07, (byte) 0x00, (byte) 0x35, (byte) 0x07, (byte) 0x00, (byte) 0x33, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x07, (byte) 0x00, (byte) 0x36, (byte) 0x01, (byte) 0x01, (byte) 0x01, (byte) 0x07, (byte) 0x00, (byte) 0x13, (byte) 0x01, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0xF8, (byte) 0x00, (byte) 0x1F, (byte) 0xFA, (byte) 0x00, (byte) 0x1D, (byte) 0x00, (byte) 0x2C, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x04, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x2D, (byte) 0x00, (byte) 0x08, (byte) 0x00, (byte) 0x37, (byte) 0x00, (byte) 0x24, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x25, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x2B, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0F, (byte) 0x03, (byte) 0xBD, (byte) 0x00, (byte) 0x0D, (byte) 0xB3, (byte) 0x00, (byte) 0x03, (byte) 0x03, (byte) 0xBD, (byte) 0x00, (byte) 0x08, (byte) 0xB3, (byte) 0x00, (byte) 0x04, (byte) 0xB1, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x26, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0A, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0xEA, (byte) 0x00, (byte) 0x07, (byte) 0x00, (byte) 0xEB, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x38, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x02, (byte) 0x00, (byte) 0x39, (byte) 0x00, (byte) 0x2A, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x0A, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x28, (byte) 0x00, (byte) 0x50, (byte) 0x00, (byte) 0x29, (byte) 0x00, (byte) 0x19};
-
-    static {
-        String absolutePath = VIRTUALJAVA8ROOT_DIR.getAbsolutePath();
-        absolutePath = absolutePath + File.separator + "java" + File.separator + "util" + File.separator + "stream";
-        File streamDir = new File(absolutePath);
-        streamDir.mkdirs();
-        absolutePath = absolutePath + File.separator + "Streams.class";
-        try {
-            new File(absolutePath).createNewFile();
-        } catch (IOException ex) {
-        }
-        absolutePath = VIRTUALJAVA8ROOT_DIR.getAbsolutePath();
-        absolutePath = absolutePath + File.separator + "java" + File.separator + "lang" + File.separator + "invoke";
-        streamDir = new File(absolutePath);
-        streamDir.mkdirs();
-        absolutePath = absolutePath + File.separator + "LambdaMetafactory.class";
-            File f = new File(absolutePath);
-        try {
-            f.createNewFile();
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
-        }
-            try(FileOutputStream fo = new FileOutputStream(f)){
-                fo.write(lambda);
-            } catch (FileNotFoundException ex) {
-            Exceptions.printStackTrace(ex);
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
-        }
-            
-    }
-
     @Override
     public void resultChanged(LookupEvent ev) {
         Collection<? extends AndroidProject> allInstances = lookupResultProjectModel.allInstances();
@@ -186,11 +155,16 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
 
     @Override
     public ArtifactData getArtifactData(URL url) {
-        return artifactDatas.get(url);
+        LibraryRoot root = libraryRoots.get(url);
+        return root != null ? root.getArtifactData() : null;
     }
 
     public Map<URL, ArtifactData> getArtifactDatas() {
-        return artifactDatas;
+        Map<URL, ArtifactData> tmp = new HashMap<>();
+        for (Map.Entry<URL, LibraryRoot> entry : libraryRoots.entrySet()) {
+            tmp.put(entry.getKey(), entry.getValue().getArtifactData());
+        }
+        return tmp;
     }
 
     public AndroidClassPathProvider(BuildVariant buildConfig, Project project) {
@@ -270,7 +244,7 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
         }
 
         @Override
-        public URL[] getRoots() {
+        protected URL[] computeRoots() {
             List<URL> tmp = new ArrayList<>();
             if (androidProjectModel != null && !androidProjectModel.getBootClasspath().isEmpty()) {
                 String next = androidProjectModel.getBootClasspath().iterator().next();
@@ -308,6 +282,7 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
 
     @Override
     public void unregister() {
+        LibraryRootRegistry.getDefault().releaseAll(this);
         try {
             GlobalPathRegistry.getDefault().unregister(ClassPath.SOURCE, new ClassPath[]{source});
         } catch (IllegalArgumentException illegalArgumentException) {
@@ -373,19 +348,38 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
             });
         }
 
+        //roots of project dependencies follow their sources and binary roots
+        private final ChangeListener dependencyListener = new ChangeListener() {
+            @Override
+            public void stateChanged(ChangeEvent e) {
+                refresh();
+            }
+        };
+        private final Map<Object, ChangeListener> dependencyListeners = new HashMap<>();
+        //flattened library graph of last model and variant
+        private AndroidProject flattenedModel;
+        private String flattenedVariant;
+        private URL[] flattenedRoots;
+        private Map<URL, LibraryRoot> flattenedLibraryRoots;
+
         @Override
-        public URL[] getRoots() {
-            List<URL> roots = new ArrayList<>();
-            Map<URL, ArtifactData> tmpArtifactDatas = new HashMap<>();
-            if (androidProjectModel != null) {
+        protected URL[] computeRoots() {
+            Set<URL> roots = new LinkedHashSet<>();
+            Map<URL, LibraryRoot> tmpLibraryRoots = new HashMap<>();
+            Set<Object> listenedDependencies = new HashSet<>();
+            AndroidProject model = androidProjectModel;
+            if (model != null) {
                 Variant variant = buildConfig.getCurrentVariant();
                 if (variant != null) {
                     Dependencies dependencies = variant.getMainArtifact().getDependencies();
-                    for (AndroidLibrary lib : dependencies.getLibraries()) {
-                        addAndroidLibraryDependencies(roots, tmpArtifactDatas, lib);
-                    }
-                    for (JavaLibrary lib : dependencies.getJavaLibraries()) {
-                        addJavaLibraryDependencies(roots, tmpArtifactDatas, lib);
+                    synchronized (this) {
+                        if (model != flattenedModel || !variant.getName().equals(flattenedVariant)) {
+                            flattenLibraries(dependencies);
+                            flattenedModel = model;
+                            flattenedVariant = variant.getName();
+                        }
+                        roots.addAll(Arrays.asList(flattenedRoots));
+                        tmpLibraryRoots = flattenedLibraryRoots;
                     }
                     for (String prjPath : dependencies.getProjects()) {
                         if (gradleBuildModel == null) {
@@ -404,10 +398,13 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
                                 LOG.log(Level.INFO, "cannot find dependency project {0}", prjPath);
                                 continue;
                             }
-                            SourceGroup[] sourceGroups = ProjectUtils.getSources(dependencyProject).getSourceGroups(JavaProjectConstants.SOURCES_TYPE_JAVA);
+                            Sources sources = ProjectUtils.getSources(dependencyProject);
+                            listenedDependencies.add(sources);
+                            SourceGroup[] sourceGroups = sources.getSourceGroups(JavaProjectConstants.SOURCES_TYPE_JAVA);
                             for (SourceGroup sg : sourceGroups) {
                                 BinaryForSourceQuery.Result binaryRoot
                                         = BinaryForSourceQuery.findBinaryRoots(FileUtil.urlForArchiveOrDir(FileUtil.toFile(sg.getRootFolder())));
+                                listenedDependencies.add(binaryRoot);
                                 for (URL compiledRoot : binaryRoot.getRoots()) {
                                     URL safeRoot = compiledRoot;
                                     if ("file".equals(compiledRoot.getProtocol())) {
@@ -417,9 +414,7 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
                                             LOG.log(Level.INFO, "project dependency processing failed for compile dependency " + prjPath + " root " + compiledRoot, ex);
                                         }
                                     }
-                                    if (!roots.contains(safeRoot)) {
-                                        roots.add(safeRoot);
-                                    }
+                                    roots.add(safeRoot);
                                 }
                             }
 
@@ -430,45 +425,95 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
                     }
                 }
             }
+            listenDependencies(listenedDependencies);
             LOG.log(Level.FINE, "compile CP roots: {0}", roots);
-            artifactDatas = tmpArtifactDatas;
+            libraryRoots = tmpLibraryRoots;
             return roots.toArray(new URL[roots.size()]);
         }
 
-        public void addAndroidLibraryDependencies(List<URL> roots, Map<URL, ArtifactData> libs, AndroidLibrary lib) {
-            String name = lib.getName();
-            URL url = FileUtil.urlForArchiveOrDir(FileUtil.normalizeFile(lib.getJarFile()));
-            if (!roots.contains(url)) {
-                roots.add(url);
-                libs.put(url, new ArtifactData(lib, project));
+        /**
+         * Dependency modules are loaded in parallel, their source groups and
+         * binary roots may appear after this snapshot was computed
+         */
+        private void listenDependencies(Set<Object> current) {
+            synchronized (dependencyListeners) {
+                for (Iterator<Map.Entry<Object, ChangeListener>> it = dependencyListeners.entrySet().iterator(); it.hasNext();) {
+                    Map.Entry<Object, ChangeListener> entry = it.next();
+                    if (!current.contains(entry.getKey())) {
+                        removeChangeListener(entry.getKey(), entry.getValue());
+                        it.remove();
+                    }
+                }
+                for (Object dependency : current) {
+                    if (!dependencyListeners.containsKey(dependency)) {
+                        ChangeListener listener = WeakListeners.change(dependencyListener, dependency);
+                        if (dependency instanceof Sources) {
+                            ((Sources) dependency).addChangeListener(listener);
+                        } else {
+                            ((BinaryForSourceQuery.Result) dependency).addChangeListener(listener);
+                        }
+                        dependencyListeners.put(dependency, listener);
+                    }
+                }
             }
-            List<? extends AndroidLibrary> libraryDependencies = lib.getLibraryDependencies();
-            for (AndroidLibrary libraryDependencie : libraryDependencies) {
-                addAndroidLibraryDependencies(roots, libs, libraryDependencie);
+        }
+
+        private void removeChangeListener(Object dependency, ChangeListener listener) {
+            if (dependency instanceof Sources) {
+                ((Sources) dependency).removeChangeListener(listener);
+            } else {
+                ((BinaryForSourceQuery.Result) dependency).removeChangeListener(listener);
             }
-            Iterator<File> localJars = lib.getLocalJars().iterator();
-            if (localJars != null) {
-                while (localJars.hasNext()) {
-                    File next = localJars.next();
-                    url = FileUtil.urlForArchiveOrDir(FileUtil.normalizeFile(next));
-                    if (!roots.contains(url)) {
-                        roots.add(url);
-                        libs.put(url, new ArtifactData(lib, project));
-                    }
+        }
 
-                }
+        /**
+         * Flatten library graph once per model version, shared subtrees are
+         * walked only once
+         */
+        private void flattenLibraries(Dependencies dependencies) {
+            Map<URL, LibraryRoot> roots = new LinkedHashMap<>();
+            Set<File> visited = new HashSet<>();
+            for (AndroidLibrary lib : dependencies.getLibraries()) {
+                addAndroidLibraryDependencies(roots, visited, lib);
+            }
+            for (JavaLibrary lib : dependencies.getJavaLibraries()) {
+                addJavaLibraryDependencies(roots, visited, lib);
             }
+            //roots of previous model which are not used anymore
+            LibraryRootRegistry.getDefault().retain(AndroidClassPathProvider.this, roots.values());
+            flattenedRoots = roots.keySet().toArray(new URL[roots.size()]);
+            flattenedLibraryRoots = roots;
+        }
 
+        private void addAndroidLibraryDependencies(Map<URL, LibraryRoot> roots, Set<File> visited, AndroidLibrary lib) {
+            File jarFile = FileUtil.normalizeFile(lib.getJarFile());
+            if (!visited.add(jarFile)) {
+                return;
+            }
+            addRoot(roots, jarFile, lib);
+            for (AndroidLibrary libraryDependencie : lib.getLibraryDependencies()) {
+                addAndroidLibraryDependencies(roots, visited, libraryDependencie);
+            }
+            for (File next : lib.getLocalJars()) {
+                addRoot(roots, next, lib);
+            }
         }
 
-        private void addJavaLibraryDependencies(List<URL> roots, Map<URL, ArtifactData> libs, JavaLibrary lib) {
-            URL root = FileUtil.urlForArchiveOrDir(FileUtil.normalizeFile(lib.getJarFile()));
-            if (!roots.contains(root)) {
-                roots.add(root);
-                libs.put(root, new ArtifactData(lib, project));
+        private void addJavaLibraryDependencies(Map<URL, LibraryRoot> roots, Set<File> visited, JavaLibrary lib) {
+            File jarFile = FileUtil.normalizeFile(lib.getJarFile());
+            if (!visited.add(jarFile)) {
+                return;
             }
+            addRoot(roots, jarFile, lib);
             for (JavaLibrary childLib : lib.getDependencies()) {
-                addJavaLibraryDependencies(roots, libs, childLib);
+                addJavaLibraryDependencies(roots, visited, childLib);
+            }
+        }
+
+        private void addRoot(Map<URL, LibraryRoot> roots, File file, Library lib) {
+            LibraryRoot root = LibraryRootRegistry.getDefault().acquire(AndroidClassPathProvider.this, project, file, lib);
+            if (!roots.containsKey(root.getUrl())) {
+                roots.put(root.getUrl(), root);
             }
         }
     }
@@ -490,9 +535,39 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
         return null;
     }
 
+    /**
+     * Holds immutable snapshot of roots, change is fired only when roots of
+     * new model or variant differ, so unchanged roots are not rescanned
+     */
     private abstract class AndroidPathResources extends PathResourceBase implements Refreshable {
 
+        private final RequestProcessor.Task refreshTask;
+        private volatile URL[] roots;
+
         public AndroidPathResources() {
+            refreshTask = RP.create(new Runnable() {
+                @Override
+                public void run() {
+                    updateRoots();
+                }
+            });
+        }
+
+        protected abstract URL[] computeRoots();
+
+        @Override
+        public final URL[] getRoots() {
+            URL[] tmp = roots;
+            if (tmp == null) {
+                synchronized (this) {
+                    tmp = roots;
+                    if (tmp == null) {
+                        tmp = computeRoots();
+                        roots = tmp;
+                    }
+                }
+            }
+            return tmp.clone();
         }
 
         @Override
@@ -503,8 +578,26 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
 
         @Override
         public final void refresh() {
-            // TODO only fire change when set of roots is really different.
-            firePropertyChange(PROP_ROOTS, null, null);
+            //model and variant changes arrive in bursts
+            refreshTask.schedule(REFRESH_DELAY);
+        }
+
+        private void updateRoots() {
+            URL[] oldRoots;
+            URL[] newRoots;
+            synchronized (this) {
+                oldRoots = roots;
+                if (oldRoots == null) {
+                    //not queried yet
+                    return;
+                }
+                newRoots = computeRoots();
+                roots = newRoots;
+            }
+            if (!Arrays.equals(oldRoots, newRoots)) {
+                LOG.log(Level.FINE, "Classpath roots changed: {0}", Arrays.asList(newRoots));
+                firePropertyChange(PROP_ROOTS, null, null);
+            }
         }
     }
 
@@ -686,10 +779,19 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
 
         @GuardedBy("cacheLock")
         private volatile List<PathResourceImplementation> cache;
+        @GuardedBy("cacheLock")
+        private List<URL> cacheUrls;
+        private final RequestProcessor.Task refreshTask;
 
         GradlePathImpl(Supplier<Iterable<? extends File>> rootsSupplier) {
             this.listeners = new PropertyChangeSupport(this);
             this.rootsSupplier = Preconditions.checkNotNull(rootsSupplier);
+            refreshTask = RP.create(new Runnable() {
+                @Override
+                public void run() {
+                    updateResources();
+                }
+            });
             buildConfig.addChangeListener(new ChangeListener() {
 
                 @Override
@@ -704,34 +806,51 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
         public List<? extends PathResourceImplementation> getResources() {
             List<PathResourceImplementation> res = cache;
             if (res == null) {
-                final Iterable<? extends File> allRoots = rootsSupplier.get();
-                res = Lists.newArrayList(
-                        Iterables.transform(
-                                Iterables.filter(
-                                        allRoots,
-                                        new Predicate<File>() {
-                                    @Override
-                                    public boolean apply(File t) {
-                                        return t.exists();
-                                    }
-                                }),
-                                new Function<File, PathResourceImplementation>() {
-                            @Override
-                            public PathResourceImplementation apply(File f) {
-                                return ClassPathSupport.createResource(
-                                        FileUtil.urlForArchiveOrDir(
-                                                FileUtil.normalizeFile(f)));
-                            }
-                        }));
                 synchronized (cacheLock) {
-                    fsListener.updateState(allRoots);
-                    cache = res;
+                    res = cache;
+                    if (res == null) {
+                        res = computeResources();
+                    }
                 }
-                LOG.log(Level.FINE, "Source roots: {0}", res);  //NOI18N
             }
             return Collections.unmodifiableList(res);
         }
 
+        @GuardedBy("cacheLock")
+        private List<PathResourceImplementation> computeResources() {
+            assert Thread.holdsLock(cacheLock);
+            final Iterable<? extends File> allRoots = rootsSupplier.get();
+            List<URL> urls = new ArrayList<>();
+            List<PathResourceImplementation> res = new ArrayList<>();
+            for (File root : allRoots) {
+                if (root.exists()) {
+                    URL url = FileUtil.urlForArchiveOrDir(FileUtil.normalizeFile(root));
+                    urls.add(url);
+                    res.add(ClassPathSupport.createResource(url));
+                }
+            }
+            fsListener.updateState(allRoots);
+            cacheUrls = urls;
+            cache = res;
+            LOG.log(Level.FINE, "Source roots: {0}", res);  //NOI18N
+            return res;
+        }
+
+        private void updateResources() {
+            synchronized (cacheLock) {
+                if (cache == null) {
+                    //not queried yet
+                    return;
+                }
+                List<URL> oldUrls = cacheUrls;
+                computeResources();
+                if (oldUrls.equals(cacheUrls)) {
+                    return;
+                }
+            }
+            listeners.firePropertyChange(PROP_RESOURCES, null, null);
+        }
+
         @Override
         public void addPropertyChangeListener(@Nonnull final PropertyChangeListener listener) {
             Parameters.notNull("listener", listener);
@@ -747,8 +866,7 @@ public class AndroidClassPathProvider implements ClassPathProvider, AndroidClass
         @Override
         public void refresh() {
             LOG.log(Level.FINER, "Refresh source roots for: {0}", androidProjectModel);
-            cache = null;
-            listeners.firePropertyChange(PROP_RESOURCES, null, null);
+            refreshTask.schedule(REFRESH_DELAY);
         }
 
         private class FSListener extends FileChangeAdapter {
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.netbeans.modules.android.project.query;
+
+import com.android.builder.model.Library;
+import java.io.File;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.nbandroid.netbeans.gradle.v2.maven.ArtifactData;
+import org.netbeans.api.project.Project;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * IDE wide registry of library classpath roots. The same library file used
+ * by more projects is represented by one URL and one ArtifactData. Roots are
+ * reference counted by owners and released when last owner releases them.
+ *
+ * @author arsi
+ */
+public class LibraryRootRegistry {
+
+    private static final LibraryRootRegistry DEFAULT = new LibraryRootRegistry();
+    private final Map<String, LibraryRoot> roots = new HashMap<>();
+    private final Map<Object, Set<String>> owners = new HashMap<>();
+
+    public static LibraryRootRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    private LibraryRootRegistry() {
+    }
+
+    /**
+     * Find or create shared root of library file
+     *
+     * @param owner owner of reference, ie classpath provider
+     * @param project project of owner, used for ArtifactData
+     * @param file library file
+     * @param library library model
+     * @return shared root
+     */
+    public LibraryRoot acquire(Object owner, Project project, File file, Library library) {
+        File normalized = FileUtil.normalizeFile(file);
+        //path and size/timestamp of file, library rebuilt in place is new root
+        String key = normalized.getPath() + '#' + normalized.length() + ':' + normalized.lastModified();
+        synchronized (this) {
+            LibraryRoot root = roots.get(key);
+            if (root == null) {
+                root = new LibraryRoot(FileUtil.urlForArchiveOrDir(normalized), library);
+                roots.put(key, root);
+            }
+            root.owners.put(owner, project);
+            Set<String> keys = owners.get(owner);
+            if (keys == null) {
+                keys = new HashSet<>();
+                owners.put(owner, keys);
+            }
+            keys.add(key);
+            return root;
+        }
+    }
+
+    /**
+     * Release all roots of owner which are not in current set
+     *
+     * @param owner
+     * @param current roots still used by owner
+     */
+    public synchronized void retain(Object owner, Collection<LibraryRoot> current) {
+        Set<String> keys = owners.get(owner);
+        if (keys == null) {
+            return;
+        }
+        for (Iterator<String> it = keys.iterator(); it.hasNext();) {
+            String key = it.next();
+            LibraryRoot root = roots.get(key);
+            if (root != null && !current.contains(root)) {
+                release(owner, key, root);
+                it.remove();
+            }
+        }
+        if (keys.isEmpty()) {
+            owners.remove(owner);
+        }
+    }
+
+    /**
+     * Release all roots of owner, ie on project close
+     *
+     * @param owner
+     */
+    public synchronized void releaseAll(Object owner) {
+        Set<String> keys = owners.remove(owner);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            LibraryRoot root = roots.get(key);
+            if (root != null) {
+                release(owner, key, root);
+            }
+        }
+    }
+
+    private void release(Object owner, String key, LibraryRoot root) {
+        root.owners.remove(owner);
+        if (root.owners.isEmpty()) {
+            roots.remove(key);
+        }
+        //closed project must not stay reachable from data of shared root
+        ArtifactData data = root.artifactData.get();
+        if (data != null && !root.owners.containsValue(data.getProject())) {
+            root.artifactData.compareAndSet(data, null);
+        }
+    }
+
+    /**
+     * Shared root of one library file
+     */
+    public static final class LibraryRoot {
+
+        private final URL url;
+        private final Library library;
+        private final Map<Object, Project> owners = new LinkedHashMap<>();
+        private final AtomicReference<ArtifactData> artifactData = new AtomicReference<>();
+
+        private LibraryRoot(URL url, Library library) {
+            this.url = url;
+            this.library = library;
+        }
+
+        public URL getUrl() {
+            return url;
+        }
+
+        /**
+         * ArtifactData bound to project of one of owners, rebound when that
+         * project releases the root
+         *
+         * @return
+         */
+        public ArtifactData getArtifactData() {
+            while (true) {
+                ArtifactData current = artifactData.get();
+                Project project;
+                synchronized (DEFAULT) {
+                    if (current != null && owners.containsValue(current.getProject())) {
+                        return current;
+                    }
+                    if (owners.isEmpty()) {
+                        return current;
+                    }
+                    project = owners.values().iterator().next();
+                }
+                //created outside of registry lock, loser of race uses data of winner
+                ArtifactData created = new ArtifactData(library, project);
+                if (artifactData.compareAndSet(current, created)) {
+                    return created;
+                }
+            }
+        }
+
+    }
+
+}
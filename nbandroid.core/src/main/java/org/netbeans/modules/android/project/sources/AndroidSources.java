@@ -28,25 +28,36 @@ import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.concurrent.GuardedBy;
 import javax.swing.Icon;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import org.gradle.tooling.model.gradle.BasicGradleProject;
+import org.gradle.tooling.model.gradle.GradleBuild;
 import org.netbeans.modules.android.project.api.AndroidConstants;
 import org.nbandroid.netbeans.gradle.config.AndroidBuildVariants;
 import org.nbandroid.netbeans.gradle.config.ProductFlavors;
 import org.netbeans.api.java.project.JavaProjectConstants;
-import org.netbeans.api.project.FileOwnerQuery;
 import org.netbeans.api.project.Project;
 import org.netbeans.api.project.ProjectInformation;
-import org.netbeans.api.project.ProjectManager;
 import org.netbeans.api.project.ProjectUtils;
 import org.netbeans.api.project.SourceGroup;
 import org.netbeans.api.project.Sources;
 import org.netbeans.modules.android.project.build.BuildVariant;
 import org.netbeans.modules.android.project.sources.generated.RTools;
 import org.netbeans.spi.project.support.GenericSources;
+import org.openide.filesystems.FileChangeAdapter;
+import org.openide.filesystems.FileChangeListener;
+import org.openide.filesystems.FileEvent;
 import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileRenameEvent;
 import org.openide.filesystems.FileUtil;
 import org.openide.util.ChangeSupport;
 import org.openide.util.Lookup;
@@ -65,6 +76,17 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
     private final BuildVariant buildConfig;
     private final ChangeSupport cs = new ChangeSupport(this);
     private final Lookup.Result<AndroidProject> lookupResult;
+    private final Object cacheLock = new Object();
+    private final FSListener fsListener = new FSListener();
+    //groups by type for cacheModel and cacheVariant
+    @GuardedBy("cacheLock")
+    private final Map<String, SourceGroup[]> cache = new HashMap<>();
+    @GuardedBy("cacheLock")
+    private AndroidProject cacheModel;
+    @GuardedBy("cacheLock")
+    private String cacheVariant;
+    @GuardedBy("cacheLock")
+    private List<String> nestedProjects = Collections.emptyList();
 
     public AndroidSources(Project project, BuildVariant buildConfig) {
         this.project = project;
@@ -77,6 +99,102 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
 
     @Override
     public SourceGroup[] getSourceGroups(String type) {
+        synchronized (cacheLock) {
+            if (cacheModel != androidProjectModel || !Objects.equals(cacheVariant, currentVariantName())) {
+                invalidateCache();
+            }
+            SourceGroup[] groups = cache.get(type);
+            if (groups == null) {
+                groups = computeSourceGroups(type);
+                cache.put(type, groups);
+            }
+            return groups.clone();
+        }
+    }
+
+    private String currentVariantName() {
+        Variant variant = buildConfig.getCurrentVariant();
+        return variant != null ? variant.getName() : null;
+    }
+
+    private void invalidateCache() {
+        assert Thread.holdsLock(cacheLock);
+        cache.clear();
+        cacheModel = androidProjectModel;
+        cacheVariant = currentVariantName();
+        nestedProjects = findNestedProjects();
+        fsListener.updateState(Collections.<File>emptySet());
+    }
+
+    /**
+     * Recompute cached groups after model or variant change, fire change only
+     * when roots of some group are different
+     */
+    private void refresh() {
+        boolean changed;
+        synchronized (cacheLock) {
+            Map<String, SourceGroup[]> old = new HashMap<>(cache);
+            invalidateCache();
+            changed = old.isEmpty();
+            for (Map.Entry<String, SourceGroup[]> entry : old.entrySet()) {
+                SourceGroup[] groups = computeSourceGroups(entry.getKey());
+                if (sameGroups(entry.getValue(), groups)) {
+                    //keep old instances, UI nodes stay same
+                    cache.put(entry.getKey(), entry.getValue());
+                } else {
+                    cache.put(entry.getKey(), groups);
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            cs.fireChange();
+        }
+    }
+
+    private static boolean sameGroups(SourceGroup[] groups1, SourceGroup[] groups2) {
+        if (groups1.length != groups2.length) {
+            return false;
+        }
+        for (int i = 0; i < groups1.length; i++) {
+            if (!groups1[i].getRootFolder().equals(groups2[i].getRootFolder())
+                    || !groups1[i].getDisplayName().equals(groups2[i].getDisplayName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Root folder of source group, missing folders are watched for creation
+     */
+    private FileObject toRoot(File srcDir) {
+        File normalized = FileUtil.normalizeFile(srcDir);
+        fsListener.watch(normalized);
+        return normalized.exists() ? FileUtil.toFileObject(normalized) : null;
+    }
+
+    /**
+     * Paths of Gradle modules nested in this project, they are not part of
+     * source groups
+     */
+    private List<String> findNestedProjects() {
+        List<String> nested = new ArrayList<>();
+        GradleBuild gradleBuild = project.getLookup().lookup(GradleBuild.class);
+        File projectDir = FileUtil.toFile(project.getProjectDirectory());
+        if (gradleBuild != null && projectDir != null) {
+            for (BasicGradleProject gradleProject : gradleBuild.getProjects()) {
+                File dir = FileUtil.normalizeFile(gradleProject.getProjectDirectory());
+                FileObject fo = FileUtil.toFileObject(dir);
+                if (fo != null && !dir.equals(projectDir) && dir.getPath().startsWith(projectDir.getPath() + File.separator)) {
+                    nested.add(fo.getPath());
+                }
+            }
+        }
+        return nested;
+    }
+
+    private SourceGroup[] computeSourceGroups(String type) {
         if (type.equals(Sources.TYPE_GENERIC)) {
             ProjectInformation info = ProjectUtils.getInformation(project);
             return new SourceGroup[]{GenericSources.group(project, project.getProjectDirectory(), info.getName(), info.getDisplayName(), null, null)};
@@ -87,30 +205,28 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
         } else if (type.equals(AndroidConstants.SOURCES_TYPE_INSTRUMENT_TEST_JAVA)) {
             return groupSrcInstrumentTestJava();
         } else if (type.equals(AndroidConstants.SOURCES_TYPE_GENERATED_JAVA)) {
-            // XXX listen to this being created/deleted
             List<SourceGroup> grps = new ArrayList<SourceGroup>();
             FileObject prjDir = project.getProjectDirectory();
             Variant variant = buildConfig.getCurrentVariant();
             if (variant != null) {
                 Collection<File> generatedSourceFolders = new ArrayList<>(variant.getMainArtifact().getGeneratedSourceFolders());
                 for (File srcDir : generatedSourceFolders) {
-                    if (!srcDir.exists()) {
+                    FileObject src = toRoot(srcDir);
+                    if (src == null) {
                         continue;
                     }
-                    FileObject src = FileUtil.toFileObject(srcDir);
                     String srcName = FileUtil.isParentOf(prjDir, src)
                             ? FileUtil.getRelativePath(prjDir, src)
                             : srcDir.getAbsolutePath();
-                    grps.add(new AnySourceGroup(project, src, srcName, "Generated Source Packages " + srcName, null, null));
+                    grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Generated Source Packages " + srcName, null, null));
                 }
                 RTools.PluginVersionResult result = RTools.handlePluginVersion(androidProjectModel,variant, prjDir);
                 if(result!=null){
-                    grps.add(new AnySourceGroup(project, result.getSrc(), result.getSrcName(), "Generated Source Packages " + result.getSrcName(), null, null));
+                    grps.add(new AnySourceGroup(nestedProjects, result.getSrc(), result.getSrcName(), "Generated Source Packages " + result.getSrcName(), null, null));
                 }
             }
             return grps.toArray(new SourceGroup[grps.size()]);
         } else if (type.equals(AndroidConstants.SOURCES_TYPE_INSTRUMENT_TEST_GENERATED_JAVA)) {
-            // XXX listen to this being created/deleted
             List<SourceGroup> grps = new ArrayList<SourceGroup>();
             FileObject prjDir = project.getProjectDirectory();
             Variant variant = buildConfig.getCurrentVariant();
@@ -118,14 +234,14 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
                 AndroidArtifact testArtifact = AndroidBuildVariants.instrumentTestArtifact(variant.getExtraAndroidArtifacts());
                 if (testArtifact != null) {
                     for (File srcDir : testArtifact.getGeneratedSourceFolders()) {
-                        if (!srcDir.exists()) {
+                        FileObject src = toRoot(srcDir);
+                        if (src == null) {
                             continue;
                         }
-                        FileObject src = FileUtil.toFileObject(srcDir);
                         String srcName = FileUtil.isParentOf(prjDir, src)
                                 ? FileUtil.getRelativePath(prjDir, src)
                                 : srcDir.getAbsolutePath();
-                        grps.add(new AnySourceGroup(project, src, srcName, "Generated Instrument Test Packages " + srcName, null, null));
+                        grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Generated Instrument Test Packages " + srcName, null, null));
                     }
                 }
             }
@@ -133,20 +249,19 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
         } else if (type.equals(JavaProjectConstants.SOURCES_TYPE_RESOURCES)) {
             return groupSrcMainResources();
         } else if (type.equals(AndroidConstants.SOURCES_TYPE_GENERATED_RESOURCES)) {
-            // XXX listen to this being created/deleted
             List<SourceGroup> grps = new ArrayList<SourceGroup>();
             FileObject prjDir = project.getProjectDirectory();
             Variant variant = buildConfig.getCurrentVariant();
             if (variant != null) {
                 for (File srcDir : variant.getMainArtifact().getGeneratedResourceFolders()) {
-                    if (!srcDir.exists()) {
+                    FileObject src = toRoot(srcDir);
+                    if (src == null) {
                         continue;
                     }
-                    FileObject src = FileUtil.toFileObject(srcDir);
                     String srcName = FileUtil.isParentOf(prjDir, src)
                             ? FileUtil.getRelativePath(prjDir, src)
                             : srcDir.getAbsolutePath();
-                    grps.add(new AnySourceGroup(project, src, srcName, "Generated Other Sources " + srcName, null, null));
+                    grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Generated Other Sources " + srcName, null, null));
                 }
             }
             return grps.toArray(new SourceGroup[grps.size()]);
@@ -163,19 +278,18 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
     
 
     private SourceGroup[] groupSrcMainJava() {
-        // XXX listen to this being created/deleted
         List<SourceGroup> grps = new ArrayList<SourceGroup>();
         FileObject prjDir = project.getProjectDirectory();
         if (androidProjectModel != null) {
             for (File srcDir : androidProjectModel.getDefaultConfig().getSourceProvider().getJavaDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "Source Packages " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Source Packages " + srcName, null, null));
             }
             Variant variant = buildConfig.getCurrentVariant();
             if (variant != null) {
@@ -183,14 +297,14 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
                     final ProductFlavorContainer flavor = ProductFlavors.findFlavorByName(androidProjectModel.getProductFlavors(), f);
                     if (flavor != null) {
                         for (File srcDir : flavor.getSourceProvider().getJavaDirectories()) {
-                            if (!srcDir.exists()) {
+                            FileObject src = toRoot(srcDir);
+                            if (src == null) {
                                 continue;
                             }
-                            FileObject src = FileUtil.toFileObject(srcDir);
                             String srcName = FileUtil.isParentOf(prjDir, src)
                                     ? FileUtil.getRelativePath(prjDir, src)
                                     : srcDir.getAbsolutePath();
-                            grps.add(GenericSources.group(project, src, srcName, "Source Packages Flavor " + f, null, null));
+                            grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Source Packages Flavor " + f, null, null));
                         }
                     }
                 }
@@ -199,21 +313,20 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
         BuildTypeContainer buildTypeContainer = buildConfig.getCurrentBuildTypeContainer();
         if (buildTypeContainer != null) {
             for (File srcDir : buildTypeContainer.getSourceProvider().getJavaDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "Source Packages " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Source Packages " + srcName, null, null));
             }
         }
         return grps.toArray(new SourceGroup[grps.size()]);
     }
 
     private SourceGroup[] groupSrcInstrumentTestJava() {
-        // XXX listen to this being created/deleted
         List<SourceGroup> grps = new ArrayList<SourceGroup>();
         FileObject prjDir = project.getProjectDirectory();
         if (androidProjectModel != null) {
@@ -221,14 +334,14 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
                     androidProjectModel.getDefaultConfig(), AndroidProject.ARTIFACT_ANDROID_TEST);
             if (spc != null) {
                 for (File srcDir : spc.getSourceProvider().getJavaDirectories()) {
-                    if (!srcDir.exists()) {
+                    FileObject src = toRoot(srcDir);
+                    if (src == null) {
                         continue;
                     }
-                    FileObject src = FileUtil.toFileObject(srcDir);
                     String srcName = FileUtil.isParentOf(prjDir, src)
                             ? FileUtil.getRelativePath(prjDir, src)
                             : srcDir.getAbsolutePath();
-                    grps.add(GenericSources.group(project, src, srcName, "Instrument Test Packages " + srcName, null, null));
+                    grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Instrument Test Packages " + srcName, null, null));
                 }
             }
             Variant variant = buildConfig.getCurrentVariant();
@@ -240,14 +353,14 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
                                 flavor, AndroidProject.ARTIFACT_ANDROID_TEST);
                         if (flavorSPC != null) {
                             for (File srcDir : flavorSPC.getSourceProvider().getJavaDirectories()) {
-                                if (!srcDir.exists()) {
+                                FileObject src = toRoot(srcDir);
+                                if (src == null) {
                                     continue;
                                 }
-                                FileObject src = FileUtil.toFileObject(srcDir);
                                 String srcName = FileUtil.isParentOf(prjDir, src)
                                         ? FileUtil.getRelativePath(prjDir, src)
                                         : srcDir.getAbsolutePath();
-                                grps.add(GenericSources.group(project, src, srcName, "Instrument Test Packages Flavor " + f, null, null));
+                                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Instrument Test Packages Flavor " + f, null, null));
                             }
                         }
                     }
@@ -258,32 +371,31 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
     }
 
     private SourceGroup[] groupSrcMainResources() {
-        // XXX listen to this being created/deleted
         List<SourceGroup> grps = new ArrayList<SourceGroup>();
         FileObject prjDir = project.getProjectDirectory();
         if (androidProjectModel != null) {
             for (File srcDir : androidProjectModel.getDefaultConfig().getSourceProvider().getResourcesDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "Other Sources " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Other Sources " + srcName, null, null));
             }
         }
         BuildTypeContainer buildTypeContainer = buildConfig.getCurrentBuildTypeContainer();
         if (buildTypeContainer != null) {
             for (File srcDir : buildTypeContainer.getSourceProvider().getResourcesDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "Other Sources " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "Other Sources " + srcName, null, null));
             }
         }
         return grps.toArray(new SourceGroup[grps.size()]);
@@ -291,11 +403,15 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
 
     private SourceGroup[] groupManifest() {
         List<SourceGroup> grps = new ArrayList<>();
+        if (androidProjectModel == null) {
+            return new SourceGroup[0];
+        }
         File manifestFile = androidProjectModel.getDefaultConfig().getSourceProvider().getManifestFile();
         if (manifestFile != null) {
-            File rootFolder = manifestFile.getParentFile();
-            FileObject rootFo = FileUtil.toFileObject(rootFolder);
-            grps.add(GenericSources.group(project, rootFo, AndroidConstants.ANDROID_MANIFEST_XML, AndroidConstants.ANDROID_MANIFEST_XML, null, null));
+            FileObject rootFo = toRoot(manifestFile.getParentFile());
+            if (rootFo != null) {
+                grps.add(new AnySourceGroup(nestedProjects, rootFo, AndroidConstants.ANDROID_MANIFEST_XML, AndroidConstants.ANDROID_MANIFEST_XML, null, null));
+            }
         }
         return grps.toArray(new SourceGroup[grps.size()]);
     }
@@ -305,47 +421,47 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
         FileObject prjDir = project.getProjectDirectory();
         if (androidProjectModel != null) {
             for (File srcDir : androidProjectModel.getDefaultConfig().getSourceProvider().getResDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "App resources " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "App resources " + srcName, null, null));
             }
             for (File srcDir : androidProjectModel.getDefaultConfig().getSourceProvider().getAssetsDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "App assets " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "App assets " + srcName, null, null));
             }
         }
         BuildTypeContainer buildTypeContainer = buildConfig.getCurrentBuildTypeContainer();
         if (buildTypeContainer != null) {
             for (File srcDir : buildTypeContainer.getSourceProvider().getResDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "App resources " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "App resources " + srcName, null, null));
             }
             for (File srcDir : buildTypeContainer.getSourceProvider().getAssetsDirectories()) {
-                if (!srcDir.exists()) {
+                FileObject src = toRoot(srcDir);
+                if (src == null) {
                     continue;
                 }
-                FileObject src = FileUtil.toFileObject(srcDir);
                 String srcName = FileUtil.isParentOf(prjDir, src)
                         ? FileUtil.getRelativePath(prjDir, src)
                         : srcDir.getAbsolutePath();
-                grps.add(GenericSources.group(project, src, srcName, "App assets " + srcName, null, null));
+                grps.add(new AnySourceGroup(nestedProjects, src, srcName, "App assets " + srcName, null, null));
             }
         }
         return grps.toArray(new SourceGroup[grps.size()]);
@@ -363,7 +479,7 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
 
     @Override
     public void stateChanged(ChangeEvent e) {
-        cs.fireChange();
+        refresh();
     }
 
     @Override
@@ -374,24 +490,82 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
         } else {
             androidProjectModel = null;
         }
-        cs.fireChange();
+        refresh();
+    }
+
+    /**
+     * Listen on source roots, also on missing ones
+     */
+    private class FSListener extends FileChangeAdapter {
+
+        @GuardedBy("cacheLock")
+        private final Map<File, FileChangeListener> listeningOn = new HashMap<>();
+
+        void watch(File file) {
+            assert Thread.holdsLock(cacheLock);
+            if (!listeningOn.containsKey(file)) {
+                final FileChangeListener wfcl = FileUtil.weakFileChangeListener(this, FileUtil.class);
+                FileUtil.addFileChangeListener(wfcl, file);
+                listeningOn.put(file, wfcl);
+            }
+        }
+
+        void updateState(Set<File> files) {
+            assert Thread.holdsLock(cacheLock);
+            for (Iterator<Map.Entry<File, FileChangeListener>> it = listeningOn.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<File, FileChangeListener> entry = it.next();
+                if (!files.contains(entry.getKey())) {
+                    FileUtil.removeFileChangeListener(entry.getValue(), entry.getKey());
+                    it.remove();
+                }
+            }
+        }
+
+        private void rootChanged(FileEvent fe) {
+            File file = FileUtil.toFile(fe.getFile());
+            synchronized (cacheLock) {
+                //events of children of roots are not interesting
+                if (file == null || !listeningOn.containsKey(file)) {
+                    return;
+                }
+            }
+            refresh();
+        }
+
+        @Override
+        public void fileFolderCreated(FileEvent fe) {
+            rootChanged(fe);
+        }
+
+        @Override
+        public void fileDeleted(FileEvent fe) {
+            rootChanged(fe);
+        }
+
+        @Override
+        public void fileRenamed(FileRenameEvent fe) {
+            rootChanged(fe);
+        }
     }
 
     /**
      * SourceGroup that accept all sources including generated (NOT_SHARABLE).
+     * Ownership is resolved by path prefix of root and nested modules.
      */
     private static final class AnySourceGroup implements SourceGroup {
 
-        private final Project p;
+        private final List<String> nestedProjects;
         private final FileObject rootFolder;
+        private final String rootPath;
         private final String name;
         private final String displayName;
         private final Icon icon;
         private final Icon openedIcon;
 
-        AnySourceGroup(Project p, FileObject rootFolder, String name, String displayName, Icon icon, Icon openedIcon) {
-            this.p = p;
+        AnySourceGroup(List<String> nestedProjects, FileObject rootFolder, String name, String displayName, Icon icon, Icon openedIcon) {
+            this.nestedProjects = nestedProjects;
             this.rootFolder = rootFolder;
+            this.rootPath = rootFolder.getPath() + "/";
             this.name = name;
             this.displayName = displayName;
             this.icon = icon;
@@ -420,15 +594,18 @@ public class AndroidSources implements Sources, ChangeListener, LookupListener {
 
         @Override
         public boolean contains(FileObject file) {
-            if (file != rootFolder && !FileUtil.isParentOf(rootFolder, file)) {
-                return false;
+            if (file == rootFolder) {
+                return true;
             }
-            if (file.isFolder() && file != p.getProjectDirectory() && ProjectManager.getDefault().isProject(file)) {
-                // #67450: avoid actually loading the nested project.
+            String path = file.getPath();
+            if (!path.startsWith(rootPath)) {
                 return false;
             }
-            if (FileOwnerQuery.getOwner(file) != p) {
-                return false;
+            //files of nested modules are owned by them
+            for (String nested : nestedProjects) {
+                if (path.equals(nested) || path.startsWith(nested + "/")) {
+                    return false;
+                }
             }
             // MIXED, UNKNOWN, and SHARABLE -> include it
             return true; // SharabilityQuery.getSharability(file) != SharabilityQuery.Sharability.NOT_SHARABLE;
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.netbeans.modules.android.project.sources.generated;
+
+import com.android.builder.model.AndroidArtifact;
+import com.android.builder.model.AndroidProject;
+import com.android.builder.model.Variant;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nbandroid.gradle.spi.GradleBuildListener;
+import org.nbandroid.netbeans.gradle.config.AndroidBuildVariants;
+import org.netbeans.api.project.Project;
+import org.netbeans.modules.android.project.build.BuildVariant;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Compares content summaries of generated source roots (R, BuildConfig, AIDL,
+ * annotation processors, databinding) before and after build and refreshes
+ * only roots which changed. Created and deleted roots are reported to
+ * classpath and sources by file events of the refresh.
+ *
+ * @author arsi
+ */
+public class GeneratedSourcesWatcher implements GradleBuildListener {
+
+    private static final Logger LOG = Logger.getLogger(GeneratedSourcesWatcher.class.getName());
+    private static final long MISSING = -1L;
+
+    private final Project project;
+    private final BuildVariant buildVariant;
+    private final Map<File, Long> summaries = new HashMap<>();
+
+    public GeneratedSourcesWatcher(Project project, BuildVariant buildVariant) {
+        this.project = project;
+        this.buildVariant = buildVariant;
+    }
+
+    @Override
+    public synchronized void buildStarted() {
+        summaries.clear();
+        for (File root : getGeneratedRoots()) {
+            summaries.put(root, summary(root));
+        }
+    }
+
+    @Override
+    public void buildFinished() {
+        List<File> changed = new ArrayList<>();
+        synchronized (this) {
+            Set<File> roots = getGeneratedRoots();
+            roots.addAll(summaries.keySet());
+            for (File root : roots) {
+                Long old = summaries.get(root);
+                if (old == null || old != summary(root)) {
+                    changed.add(root);
+                }
+            }
+            summaries.clear();
+        }
+        if (!changed.isEmpty()) {
+            LOG.log(Level.FINE, "Changed generated roots: {0}", changed);
+            FileUtil.refreshFor(changed.toArray(new File[changed.size()]));
+        }
+    }
+
+    private Set<File> getGeneratedRoots() {
+        Set<File> roots = new LinkedHashSet<>();
+        AndroidProject androidProject = project.getLookup().lookup(AndroidProject.class);
+        Variant variant = buildVariant.getCurrentVariant();
+        if (androidProject == null || variant == null) {
+            return roots;
+        }
+        try {
+            roots.addAll(variant.getMainArtifact().getGeneratedSourceFolders());
+            RTools.PluginVersionResult result = RTools.handlePluginVersion(androidProject, variant, null);
+            if (result != null && result.getSrc() != null) {
+                roots.add(FileUtil.toFile(result.getSrc()));
+            }
+            AndroidArtifact testArtifact = AndroidBuildVariants.instrumentTestArtifact(variant.getExtraAndroidArtifacts());
+            if (testArtifact != null) {
+                roots.addAll(testArtifact.getGeneratedSourceFolders());
+            }
+        } catch (RuntimeException ex) {
+            //model from older plugin, missing property
+            LOG.log(Level.FINE, null, ex);
+        }
+        roots.remove(null);
+        return roots;
+    }
+
+    /**
+     * Summary of names, sizes and timestamps of all files under root
+     */
+    static long summary(File root) {
+        if (!root.isDirectory()) {
+            return MISSING;
+        }
+        long hash = 17;
+        Deque<File> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            File[] files = stack.pop().listFiles();
+            if (files == null) {
+                continue;
+            }
+            Arrays.sort(files);
+            for (File file : files) {
+                hash = 31 * hash + file.getName().hashCode();
+                if (file.isDirectory()) {
+                    stack.push(file);
+                } else {
+                    hash = 31 * hash + file.length();
+                    hash = 31 * hash + file.lastModified();
+                }
+            }
+        }
+        return hash;
+    }
+
+}
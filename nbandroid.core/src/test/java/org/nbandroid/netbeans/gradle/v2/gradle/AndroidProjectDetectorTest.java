@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.nbandroid.netbeans.gradle.v2.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Lexical detection of Android modules
+ *
+ * @author arsi
+ */
+public class AndroidProjectDetectorTest {
+
+    private static final Logger LOG = Logger.getLogger(AndroidProjectDetectorTest.class.getName());
+    private static File workDir;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        workDir = Files.createTempDirectory("detector").toFile();
+        //BuildScriptFacts cache lives in user dir
+        System.setProperty("netbeans.user", new File(workDir, "userdir").getPath());
+    }
+
+    @Test
+    public void testCodeOnlyRemovesComments() {
+        assertEquals("a   b", AndroidProjectDetector.codeOnly("a // android {\n b"));
+        assertEquals("a   b", AndroidProjectDetector.codeOnly("a /* android {\n */ b"));
+        assertEquals("a  ", AndroidProjectDetector.codeOnly("a /* unterminated android {"));
+    }
+
+    @Test
+    public void testCodeOnlyRemovesStrings() {
+        assertEquals("x =  ", AndroidProjectDetector.codeOnly("x = \"android {\""));
+        assertEquals("x =  ", AndroidProjectDetector.codeOnly("x = 'android {'"));
+        assertEquals("x =  ", AndroidProjectDetector.codeOnly("x = \"\"\"\nandroid {\n\"\"\""));
+        assertEquals("x =  ", AndroidProjectDetector.codeOnly("x = '''\nandroid {\n'''"));
+        assertEquals("x =   y", AndroidProjectDetector.codeOnly("x = 'it\\'s android {' y"));
+    }
+
+    @Test
+    public void testCommentMarkerInsideString() {
+        //url in string is not a comment, following code is kept
+        assertEquals("url =  \nandroid {}", AndroidProjectDetector.codeOnly("url = 'http://example.com'\nandroid {}"));
+        assertEquals("s =  \nandroid {}", AndroidProjectDetector.codeOnly("s = \"/* not comment\"\nandroid {}"));
+    }
+
+    @Test
+    public void testUnterminatedStringEndsAtLineEnd() {
+        assertEquals("x =  \nandroid {}", AndroidProjectDetector.codeOnly("x = 'broken\nandroid {}"));
+    }
+
+    @Test
+    public void testDetectAndroidBlock() throws IOException {
+        assertTrue(detect("apply plugin: 'com.android.application'\nandroid {\n compileSdkVersion 28\n}\n"));
+        assertTrue(detect("android(\n)\n"));
+        assertTrue(detect("url = 'http://maven.example.com'\nandroid {\n}\n"));
+    }
+
+    @Test
+    public void testDetectNotAndroid() throws IOException {
+        assertFalse(detect("apply plugin: 'java'\n"));
+        assertFalse(detect("apply plugin: 'java'\n// android {\n"));
+        assertFalse(detect("apply plugin: 'java'\n/* android {\n}*/\n"));
+        assertFalse(detect("apply plugin: 'java'\ndef s = \"android {\"\n"));
+        assertFalse(detect("apply plugin: 'java'\ndef s = '''\nandroid {\n'''\n"));
+        assertFalse(detect("dependencies {\n compile 'com.android.tools:common:26.2.1'\n}\n"));
+    }
+
+    @Test
+    public void testDetectionFollowsEdits() throws IOException {
+        File script = write(new File(workDir, "edited"), "apply plugin: 'java'\n");
+        assertFalse(AndroidProjectDetector.isAndroidProject(script));
+        write(new File(workDir, "edited"), "apply plugin: 'com.android.library'\nandroid {\n}\n");
+        //size differs, cached result is not used
+        assertTrue(AndroidProjectDetector.isAndroidProject(script));
+    }
+
+    /**
+     * Synthetic multi module tree, first pass reads all scripts, second pass
+     * is served from cache
+     */
+    @Test
+    public void testMultiModuleTree() throws IOException {
+        int modules = 500;
+        File root = new File(workDir, "tree");
+        File[] scripts = new File[modules];
+        for (int i = 0; i < modules; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("// module ").append(i).append(", android { in comment\n");
+            sb.append("def repo = 'https://maven.example.com/android'\n");
+            if (i % 2 == 0) {
+                sb.append("apply plugin: 'com.android.library'\nandroid {\n compileSdkVersion 28\n}\n");
+            } else {
+                sb.append("apply plugin: 'java'\n");
+            }
+            sb.append("dependencies {\n implementation 'com.example:lib").append(i).append(":1.0'\n}\n");
+            scripts[i] = write(new File(root, "module" + i), sb.toString());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < modules; i++) {
+            assertEquals(i % 2 == 0, AndroidProjectDetector.isAndroidProject(scripts[i]));
+        }
+        long first = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < modules; i++) {
+            assertEquals(i % 2 == 0, AndroidProjectDetector.isAndroidProject(scripts[i]));
+        }
+        long cached = System.nanoTime() - start;
+        LOG.log(Level.INFO, "{0} modules detected in {1} ms, cached in {2} ms",
+                new Object[]{modules, first / 1000000, cached / 1000000});
+    }
+
+    private static boolean detect(String text) throws IOException {
+        File dir = Files.createTempDirectory(workDir.toPath(), "module").toFile();
+        return AndroidProjectDetector.isAndroidProject(write(dir, text));
+    }
+
+    private static File write(File dir, String text) throws IOException {
+        dir.mkdirs();
+        File script = new File(dir, "build.gradle");
+        Files.write(script.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        return script;
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import org.gradle.tooling.BuildAction;
+import org.gradle.tooling.BuildController;
+import org.gradle.tooling.model.gradle.BasicGradleProject;
+import org.gradle.tooling.model.gradle.GradleBuild;
+
+/**
+ * Configures the build once and collects requested models of all projects of
+ * the build
+ *
+ * @author arsi
+ */
+public class AllModelsBuildAction implements BuildAction<HashMap<File, ArrayList<Object>>> {
+
+    private static final long serialVersionUID = 1L;
+    private final Class[] models;
+
+    public AllModelsBuildAction(Class[] models) {
+        this.models = models;
+    }
+
+    @Override
+    public HashMap<File, ArrayList<Object>> execute(BuildController controller) {
+        HashMap<File, ArrayList<Object>> result = new HashMap<>();
+        GradleBuild build = controller.getBuildModel();
+        for (BasicGradleProject gradleProject : build.getProjects()) {
+            ArrayList<Object> projectModels = new ArrayList<>();
+            for (Class model : models) {
+                if (GradleBuild.class.equals(model)) {
+                    projectModels.add(build);
+                } else {
+                    //null when project does not provide model, ie AndroidProject of root project
+                    Object projectModel = controller.findModel(gradleProject, model);
+                    if (projectModel != null) {
+                        projectModels.add(projectModel);
+                    }
+                }
+            }
+            result.put(gradleProject.getProjectDirectory(), projectModels);
+        }
+        return result;
+    }
+
+}
@@ -19,6 +19,12 @@
 
 package nbandroid.gradle.impl;
 
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import nbandroid.gradle.spi.BuildMutex;
 import org.openide.util.Mutex;
 import org.openide.util.RequestProcessor;
@@ -29,8 +35,43 @@ import org.openide.util.RequestProcessor;
  */
 public class BuildMutexImpl implements BuildMutex {
 
-    Mutex.Privileged privileged = new Mutex.Privileged();
-    Mutex buildMutex = new Mutex(privileged, new RequestProcessor(BuildMutex.class));
+    //mutex is held by projects of root, entry goes away with last of them
+    private static final Map<File, WeakReference<BuildMutexImpl>> ROOT_MUTEXES = new HashMap<>();
+    final Mutex.Privileged privileged = new Mutex.Privileged();
+    //own executor, blocked requests of one root never wait for other roots
+    final Mutex buildMutex;
+
+    public BuildMutexImpl() {
+        this(new RequestProcessor(BuildMutex.class.getName(), 1));
+    }
+
+    BuildMutexImpl(Executor executor) {
+        buildMutex = new Mutex(privileged, executor);
+    }
+
+    /**
+     * One mutex per Gradle root project, projects of different roots do not
+     * wait for each other
+     *
+     * @param rootDir
+     * @return
+     */
+    static BuildMutexImpl forRoot(File rootDir) {
+        synchronized (ROOT_MUTEXES) {
+            for (Iterator<WeakReference<BuildMutexImpl>> it = ROOT_MUTEXES.values().iterator(); it.hasNext();) {
+                if (it.next().get() == null) {
+                    it.remove();
+                }
+            }
+            WeakReference<BuildMutexImpl> reference = ROOT_MUTEXES.get(rootDir);
+            BuildMutexImpl mutex = reference != null ? reference.get() : null;
+            if (mutex == null) {
+                mutex = new BuildMutexImpl();
+                ROOT_MUTEXES.put(rootDir, new WeakReference<>(mutex));
+            }
+            return mutex;
+        }
+    }
 
     @Override
     public Mutex mutex() {
@@ -19,8 +19,11 @@
 
 package nbandroid.gradle.impl;
 
+import java.io.File;
 import nbandroid.gradle.spi.BuildMutex;
 import nbandroid.gradle.spi.BuildMutexProvider;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
 import org.openide.util.lookup.ServiceProvider;
 
 /**
@@ -35,4 +38,13 @@ public class BuildMutexProviderImpl implements BuildMutexProvider {
         return new BuildMutexImpl();
     }
 
+    @Override
+    public BuildMutex create(FileObject projectDirectory) {
+        File projectDir = FileUtil.toFile(projectDirectory);
+        if (projectDir == null) {
+            return new BuildMutexImpl();
+        }
+        return BuildMutexImpl.forRoot(GradleHandlerImpl.findRootDir(FileUtil.normalizeFile(projectDir)));
+    }
+
 }
@@ -42,6 +42,7 @@ public class GoalsNavigationPanel implements NavigatorPanel {
 
     protected Lookup.Result<AndroidProjectInfo> selection;
     protected Lookup.Result<GradleUserTaskProvider> selectionUserTasks;
+    protected Project project;
 
     protected final LookupListener selectionListener = new LookupListener() {
         @Override
@@ -57,7 +58,7 @@ public class GoalsNavigationPanel implements NavigatorPanel {
                 }
             }
 
-            navigate(selection.allInstances(), gradleUserTaskProvider);
+            navigate(selection.allInstances(), gradleUserTaskProvider, project);
         }
     };
 
@@ -89,7 +90,7 @@ public class GoalsNavigationPanel implements NavigatorPanel {
         getNavigatorUI().showWaitNode();
         selection = context.lookupResult(AndroidProjectInfo.class);
         selection.addLookupListener(selectionListener);
-        Project project = context.lookup(Project.class);
+        project = context.lookup(Project.class);
         if (project != null) {
             selectionUserTasks = project.getLookup().lookupResult(GradleUserTaskProvider.class);
             selectionUserTasks.addLookupListener(selectionListener);
@@ -108,6 +109,7 @@ public class GoalsNavigationPanel implements NavigatorPanel {
             selectionUserTasks.removeLookupListener(selectionListener);
             selectionUserTasks = null;
         }
+        project = null;
         getNavigatorUI().release();
     }
 
@@ -116,10 +118,10 @@ public class GoalsNavigationPanel implements NavigatorPanel {
         return Lookup.EMPTY;
     }
 
-    public void navigate(Collection<? extends AndroidProjectInfo> selectedFiles, GradleUserTaskProvider gradleUserTaskProvider) {
+    public void navigate(Collection<? extends AndroidProjectInfo> selectedFiles, GradleUserTaskProvider gradleUserTaskProvider, Project project) {
         if (selectedFiles.size() == 1) {
             AndroidProjectInfo d = (AndroidProjectInfo) selectedFiles.iterator().next();
-            getNavigatorUI().navigate(d, gradleUserTaskProvider);
+            getNavigatorUI().navigate(d, gradleUserTaskProvider, project);
         } else {
             getNavigatorUI().release();
         }
@@ -25,6 +25,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.SwingUtilities;
@@ -33,6 +35,7 @@ import nbandroid.gradle.spi.GradleCommandExecutor;
 import nbandroid.gradle.spi.GradleCommandTemplate;
 import nbandroid.gradle.spi.GradleUserTaskProvider;
 import nbandroid.gradle.tooling.AndroidProjectInfo;
+import nbandroid.gradle.tooling.AndroidProjectTasks;
 import nbandroid.gradle.tooling.TaskInfo;
 import nbandroid.gradle.tooling.TaskInfoImpl;
 import org.netbeans.api.annotations.common.StaticResource;
@@ -59,6 +62,11 @@ public class GoalsPanel extends javax.swing.JPanel implements ExplorerManager.Pr
     private final BeanTreeView treeView;
     private AndroidProjectInfo gradleProject;
     private GradleUserTaskProvider gradleUserTaskProvider;
+    private Project project;
+    /**
+     * Task details loaded on demand, for current model of project
+     */
+    private static final Map<AndroidProjectInfo, AndroidProjectTasks> TASK_DETAILS = new WeakHashMap<>();
 
     /**
      * Creates new form GoalsPanel
@@ -101,9 +109,10 @@ public class GoalsPanel extends javax.swing.JPanel implements ExplorerManager.Pr
         });
     }
 
-    void navigate(AndroidProjectInfo gradleProject, GradleUserTaskProvider gradleUserTaskProvider) {
+    void navigate(AndroidProjectInfo gradleProject, GradleUserTaskProvider gradleUserTaskProvider, Project project) {
         this.gradleProject = gradleProject;
         this.gradleUserTaskProvider = gradleUserTaskProvider;
+        this.project = project;
         RequestProcessor.getDefault().execute(this);
     }
 
@@ -125,7 +134,25 @@ public class GoalsPanel extends javax.swing.JPanel implements ExplorerManager.Pr
 
     @Override
     public void run() {
-        final Children ch = Children.create(new PluginChildren(gradleProject, gradleUserTaskProvider), true);
+        AndroidProjectInfo info = gradleProject;
+        if (project != null && info != null) {
+            AndroidProjectTasks details;
+            synchronized (TASK_DETAILS) {
+                details = TASK_DETAILS.get(info);
+            }
+            if (details == null) {
+                details = GradleHandlerImpl.loadProjectTasks(project);
+                if (details != null) {
+                    synchronized (TASK_DETAILS) {
+                        TASK_DETAILS.put(info, details);
+                    }
+                }
+            }
+            if (details != null) {
+                info = details;
+            }
+        }
+        final Children ch = Children.create(new PluginChildren(info, gradleUserTaskProvider), true);
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.util.Collection;
+import nbandroid.gradle.spi.GradleBuildListener;
+import org.gradle.tooling.BuildLauncher;
+import org.netbeans.api.project.Project;
+
+/**
+ * Runs Gradle build of project and notifies GradleBuildListeners from its
+ * lookup, shared by project actions and Goals panel
+ *
+ * @author arsi
+ */
+class GradleBuildRunner {
+
+    private GradleBuildRunner() {
+    }
+
+    /**
+     * Run build, buildFinished is fired also when build fails or is cancelled
+     *
+     * @param project
+     * @param buildLauncher configured build
+     */
+    static void run(Project project, BuildLauncher buildLauncher) {
+        Collection<? extends GradleBuildListener> buildListeners = project.getLookup().lookupAll(GradleBuildListener.class);
+        for (GradleBuildListener buildListener : buildListeners) {
+            buildListener.buildStarted();
+        }
+        try {
+            buildLauncher.run();
+        } finally {
+            for (GradleBuildListener buildListener : buildListeners) {
+                buildListener.buildFinished();
+            }
+        }
+    }
+
+}
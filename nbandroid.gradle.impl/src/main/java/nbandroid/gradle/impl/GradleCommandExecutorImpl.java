@@ -19,8 +19,6 @@
 package nbandroid.gradle.impl;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.Writer;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import static nbandroid.gradle.impl.ExecuteGoal.BLACK;
@@ -32,14 +30,12 @@ import nbandroid.gradle.spi.GradleCommandTemplate;
 import nbandroid.gradle.spi.GradleHandler;
 import nbandroid.gradle.spi.GradleJvmConfiguration;
 import nbandroid.gradle.spi.ModelRefresh;
-import org.apache.commons.io.output.WriterOutputStream;
 import org.gradle.initialization.BuildCancellationToken;
 import org.gradle.initialization.DefaultBuildCancellationToken;
 import org.gradle.internal.impldep.com.google.common.collect.ImmutableSet;
 import org.gradle.tooling.BuildCancelledException;
 import org.gradle.tooling.BuildLauncher;
 import org.gradle.tooling.CancellationToken;
-import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.events.ProgressEvent;
 import org.gradle.tooling.events.ProgressListener;
@@ -87,12 +83,11 @@ public class GradleCommandExecutorImpl implements GradleCommandExecutor, Cancell
                 cancellationReference.set(new DefaultBuildCancellationToken());
                 File gradleHome = gradleHandler.getGradleHome(project);
                 if (gradleHome != null) {
-                    GradleConnector connector = GradleConnector.newConnector();
-                    connector.useInstallation(gradleHome);
-                    connector.forProjectDirectory(FileUtil.toFile(project.getProjectDirectory()));
-                    try (ProjectConnection connection = connector.connect()) {
+                    File projectDir = FileUtil.normalizeFile(FileUtil.toFile(project.getProjectDirectory()));
+                    try (GradleConnectionManager.Lease lease = GradleConnectionManager.acquire(projectDir, gradleHome)) {
+                        ProjectConnection connection = lease.getConnection();
                         BuildLauncher buildLauncher = connection.newBuild();
-                        buildLauncher.forTasks(command.getTasksArray());
+                        buildLauncher.forTasks(GradleHandlerImpl.qualifyTasks(project, command.getTasksArray()));
                         buildLauncher.withCancellationToken(GradleCommandExecutorImpl.this);
                         ProjectConfigurationProvider pcp = project.getLookup().lookup(ProjectConfigurationProvider.class);
                         buildLauncher.addArguments(command.getArguments());
@@ -104,7 +99,7 @@ public class GradleCommandExecutorImpl implements GradleCommandExecutor, Cancell
                             buildLauncher.addArguments(argsConfiguration.getJvmArguments());
                         }
                         if (jvmConfiguration == null) {
-                            buildLauncher.addJvmArguments("-Xms800m", "-Xmx2000m");
+                            buildLauncher.addJvmArguments(GradleJvmConfiguration.getDefaultJvmArguments(project.getProjectDirectory()));
                         } else {
                             buildLauncher.addJvmArguments(jvmConfiguration.getJvmArguments());
                         }
@@ -118,7 +113,7 @@ public class GradleCommandExecutorImpl implements GradleCommandExecutor, Cancell
                             io.getOut().println(BLUE + "Executing task: " + command.getSafeDisplayName() + BLACK);
                             io.getOut().print("\n\r");
                             io.getOut().print("\n\r");
-                            CustomWriterOutputStream cwos = new CustomWriterOutputStream(io.getOut(), "UTF-8");
+                            GradleOutputStream cwos = new GradleOutputStream(io.getOut());
                             buildLauncher.setStandardOutput(cwos);
                             buildLauncher.setStandardError(cwos);
                             buildLauncher.setColorOutput(true);
@@ -132,7 +127,7 @@ public class GradleCommandExecutorImpl implements GradleCommandExecutor, Cancell
                             }
                         });
                         try {
-                            buildLauncher.run();
+                            GradleBuildRunner.run(project, buildLauncher);
                         } catch (Exception e) {
                             if (!(e instanceof BuildCancelledException)) {
                                 Exceptions.printStackTrace(e);
@@ -172,25 +167,4 @@ public class GradleCommandExecutorImpl implements GradleCommandExecutor, Cancell
         return cancellationReference.get();
     }
 
-    private static class CustomWriterOutputStream extends WriterOutputStream {
-
-        private final Writer writer;
-
-        public CustomWriterOutputStream(Writer writer, String charsetName) {
-            super(writer, charsetName);
-            this.writer = writer;
-        }
-
-        @Override
-        public void write(byte[] b, int off, int len) throws IOException {
-            synchronized (writer) {
-                String s = new String(b, off, len, "UTF-8").replaceAll("\u001B(\\[)((\\d+)(;))+(\\d+)m", "");
-                if (!s.contains("\n\r") && s.contains("\n")) {
-                    s = s.replace("\n", "\n\r");
-                }
-                writer.write(s);
-            }
-        }
-    }
-
 }
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.openide.modules.OnStop;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Keeps Gradle ProjectConnections open and shares them between model loading
+ * and task execution. There is one connection per Gradle root project, tasks
+ * of modules are run by their Gradle path. Connections are closed when idle,
+ * when root project is closed and on IDE exit.
+ *
+ * @author arsi
+ */
+public class GradleConnectionManager {
+
+    private static final Logger LOG = Logger.getLogger(GradleConnectionManager.class.getName());
+    private static final RequestProcessor RP = new RequestProcessor(GradleConnectionManager.class.getName(), 1);
+    private static final long IDLE_TIMEOUT = 5 * 60 * 1000;
+    private static final int EVICTION_PERIOD = 60 * 1000;
+    private static final Map<File, PooledConnection> CONNECTIONS = new HashMap<>();
+    private static final RequestProcessor.Task EVICTION_TASK = RP.create(new Runnable() {
+        @Override
+        public void run() {
+            evictIdle();
+        }
+    });
+
+    private GradleConnectionManager() {
+    }
+
+    /**
+     * Lease connection of Gradle root project of directory, close the lease
+     * when done
+     *
+     * @param projectDir project directory, root or module
+     * @param gradleHome Gradle installation
+     * @return
+     */
+    public static Lease acquire(File projectDir, File gradleHome) {
+        File rootDir = GradleHandlerImpl.findRootDir(projectDir);
+        PooledConnection toClose = null;
+        PooledConnection pooled;
+        synchronized (CONNECTIONS) {
+            pooled = CONNECTIONS.get(rootDir);
+            if (pooled != null && !pooled.gradleHome.equals(gradleHome)) {
+                //Gradle version changed
+                CONNECTIONS.remove(rootDir);
+                pooled.closed = true;
+                if (pooled.inUse == 0) {
+                    toClose = pooled;
+                }
+                pooled = null;
+            }
+            if (pooled == null) {
+                GradleConnector connector = GradleConnector.newConnector();
+                connector.useInstallation(gradleHome);
+                connector.forProjectDirectory(rootDir);
+                pooled = new PooledConnection(rootDir, gradleHome, connector.connect());
+                CONNECTIONS.put(rootDir, pooled);
+                EVICTION_TASK.schedule(EVICTION_PERIOD);
+            }
+            pooled.inUse++;
+            pooled.lastUsed = System.currentTimeMillis();
+        }
+        if (toClose != null) {
+            toClose.close();
+        }
+        return new Lease(pooled);
+    }
+
+    /**
+     * Close all connections of Gradle root project
+     *
+     * @param rootDir
+     */
+    public static void closeRoot(File rootDir) {
+        closeMatching(rootDir, 0);
+    }
+
+    private static void evictIdle() {
+        closeMatching(null, IDLE_TIMEOUT);
+        synchronized (CONNECTIONS) {
+            if (!CONNECTIONS.isEmpty()) {
+                EVICTION_TASK.schedule(EVICTION_PERIOD);
+            }
+        }
+    }
+
+    private static void closeMatching(File rootDir, long idleTime) {
+        List<PooledConnection> toClose = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (CONNECTIONS) {
+            for (Iterator<PooledConnection> it = CONNECTIONS.values().iterator(); it.hasNext();) {
+                PooledConnection pooled = it.next();
+                if ((rootDir == null || rootDir.equals(pooled.rootDir)) && now - pooled.lastUsed >= idleTime) {
+                    if (pooled.inUse > 0 && rootDir == null) {
+                        //idle eviction skips running operations
+                        continue;
+                    }
+                    it.remove();
+                    pooled.closed = true;
+                    if (pooled.inUse == 0) {
+                        toClose.add(pooled);
+                    }
+                }
+            }
+        }
+        for (PooledConnection pooled : toClose) {
+            pooled.close();
+        }
+    }
+
+    private static final class PooledConnection {
+
+        private final File rootDir;
+        private final File gradleHome;
+        private final ProjectConnection connection;
+        //guarded by CONNECTIONS
+        private int inUse;
+        private long lastUsed;
+        private boolean closed;
+
+        public PooledConnection(File rootDir, File gradleHome, ProjectConnection connection) {
+            this.rootDir = rootDir;
+            this.gradleHome = gradleHome;
+            this.connection = connection;
+        }
+
+        private void close() {
+            try {
+                connection.close();
+            } catch (RuntimeException ex) {
+                LOG.log(Level.FINE, "Unable to close connection of " + rootDir, ex);
+            }
+        }
+
+    }
+
+    /**
+     * Use of pooled connection
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final PooledConnection pooled;
+        private boolean released = false;
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        public ProjectConnection getConnection() {
+            return pooled.connection;
+        }
+
+        @Override
+        public void close() {
+            boolean close;
+            synchronized (CONNECTIONS) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                pooled.inUse--;
+                pooled.lastUsed = System.currentTimeMillis();
+                close = pooled.closed && pooled.inUse == 0;
+            }
+            if (close) {
+                pooled.close();
+            }
+        }
+
+    }
+
+    @OnStop
+    public static final class CloseConnections implements Runnable {
+
+        @Override
+        public void run() {
+            closeMatching(null, 0);
+            List<PooledConnection> busy;
+            synchronized (CONNECTIONS) {
+                busy = new ArrayList<>(CONNECTIONS.values());
+                CONNECTIONS.clear();
+            }
+            for (PooledConnection pooled : busy) {
+                pooled.close();
+            }
+        }
+
+    }
+
+}
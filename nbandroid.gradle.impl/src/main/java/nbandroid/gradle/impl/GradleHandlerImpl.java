@@ -19,39 +19,48 @@
 package nbandroid.gradle.impl;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import nbandroid.gradle.impl.GradleDownloader.GradleHome;
+import nbandroid.gradle.impl.GradleModelCache.CachedModels;
 import nbandroid.gradle.spi.BuildMutex;
 import nbandroid.gradle.spi.GradleArgsConfiguration;
 import nbandroid.gradle.spi.GradleHandler;
 import nbandroid.gradle.spi.GradleJvmConfiguration;
 import nbandroid.gradle.tooling.AndroidProjectInfo;
-import org.apache.commons.io.output.WriterOutputStream;
-import org.gradle.initialization.BuildCancellationToken;
-import org.gradle.initialization.DefaultBuildCancellationToken;
+import nbandroid.gradle.tooling.AndroidProjectTasks;
 import org.gradle.internal.impldep.com.google.common.collect.ImmutableSet;
+import org.gradle.tooling.BuildActionExecuter;
 import org.gradle.tooling.BuildCancelledException;
-import org.gradle.tooling.CancellationToken;
+import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.GradleConnectionException;
 import org.gradle.tooling.GradleConnector;
-import org.gradle.tooling.ModelBuilder;
+import org.gradle.tooling.IntermediateResultHandler;
+import org.gradle.tooling.LongRunningOperation;
 import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.UnsupportedVersionException;
 import org.gradle.tooling.events.ProgressEvent;
 import org.gradle.tooling.events.ProgressListener;
-import org.gradle.tooling.internal.consumer.CancellationTokenInternal;
+import org.gradle.tooling.model.gradle.BasicGradleProject;
+import org.gradle.tooling.model.gradle.GradleBuild;
 import org.netbeans.api.io.InputOutput;
 import org.netbeans.api.io.ShowOperation;
 import org.netbeans.api.progress.ProgressHandle;
 import org.netbeans.api.progress.ProgressHandleFactory;
 import org.netbeans.api.project.Project;
+import org.openide.filesystems.FileObject;
 import org.openide.filesystems.FileUtil;
 import org.openide.modules.InstalledFileLocator;
 import org.openide.util.Cancellable;
@@ -59,6 +68,7 @@ import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
 import org.openide.util.LookupEvent;
 import org.openide.util.LookupListener;
+import org.openide.util.RequestProcessor;
 import org.openide.util.lookup.AbstractLookup;
 import org.openide.util.lookup.InstanceContent;
 import org.openide.util.lookup.ServiceProvider;
@@ -73,6 +83,10 @@ public class GradleHandlerImpl implements GradleHandler {
     private final static Map<Project, GradleHandlerApi> handlers = new WeakHashMap<>();
     private final static Map<Project, GradleHome> gradleLocations = new WeakHashMap<>();
     final static String TOOLING_JAR = InstalledFileLocator.getDefault().locate("modules/ext/gradle/android-gradle-tooling.jar", "sk-arsi-netbeans-gradle-android-Gradle-Android-support-gradle-libs", false).getAbsolutePath();
+    private final static Map<File, RootModelLoader> loaders = new HashMap<>();
+    private static final Logger LOG = Logger.getLogger(GradleHandlerImpl.class.getName());
+    public static final String BLACK = "\033[0;30m";   // BLACK
+    public static final String BLUE = "\033[0;34m";    // BLUE
     final static String INIT_SCRIPT = InstalledFileLocator.getDefault().locate("modules/ext/gradle/nba-tooling.gradle", "sk-arsi-netbeans-gradle-android-Gradle-Android-support-gradle-libs", false).getAbsolutePath();
 
     @Override
@@ -101,6 +115,33 @@ public class GradleHandlerImpl implements GradleHandler {
         return handlerApi.getModelLookup();
     }
 
+    @Override
+    public void projectClosed(Project project) {
+        GradleHandlerApi handlerApi;
+        synchronized (handlers) {
+            handlerApi = handlers.remove(project);
+        }
+        if (handlerApi != null) {
+            handlerApi.loader.handlerClosed(handlerApi);
+        }
+        File projectDir = FileUtil.normalizeFile(FileUtil.toFile(project.getProjectDirectory()));
+        //modules share connection of root, it is closed with root or when idle
+        if (projectDir.equals(findRootDir(projectDir))) {
+            GradleConnectionManager.closeRoot(projectDir);
+        }
+    }
+
+    @Override
+    public void cancelModelLoading(Project project) {
+        GradleHandlerApi handlerApi;
+        synchronized (handlers) {
+            handlerApi = handlers.get(project);
+        }
+        if (handlerApi != null) {
+            handlerApi.loader.cancel();
+        }
+    }
+
     @Override
     public File getGradleHome(Project project) {
         GradleHome gradleHome = null;
@@ -113,25 +154,149 @@ public class GradleHandlerImpl implements GradleHandler {
         return null;
     }
 
-    private static class GradleHandlerApi implements LookupListener, Runnable, CancellationToken, CancellationTokenInternal, Cancellable {
+    /**
+     * Find directory of Gradle root project, nearest folder with settings
+     * script
+     *
+     * @param projectDir
+     * @return
+     */
+    static File findRootDir(File projectDir) {
+        File dir = projectDir;
+        while (dir != null) {
+            if (new File(dir, "settings.gradle").isFile() || new File(dir, "settings.gradle.kts").isFile()) {
+                return dir;
+            }
+            dir = dir.getParentFile();
+        }
+        return projectDir;
+    }
+
+    /**
+     * Gradle path of project, from GradleBuild model when loaded or derived
+     * from directory layout
+     *
+     * @param project
+     * @return path, ":" for root project
+     */
+    static String findGradlePath(Project project) {
+        File projectDir = FileUtil.normalizeFile(FileUtil.toFile(project.getProjectDirectory()));
+        File rootDir = findRootDir(projectDir);
+        if (projectDir.equals(rootDir)) {
+            return ":";
+        }
+        GradleBuild build = project.getLookup().lookup(GradleBuild.class);
+        if (build != null) {
+            for (BasicGradleProject gradleProject : build.getProjects()) {
+                File dir = gradleProject.getProjectDirectory();
+                if (dir != null && projectDir.equals(FileUtil.normalizeFile(dir))) {
+                    return gradleProject.getPath();
+                }
+            }
+        }
+        String relative = rootDir.toURI().relativize(projectDir.toURI()).getPath();
+        if (relative.endsWith("/")) {
+            relative = relative.substring(0, relative.length() - 1);
+        }
+        return ":" + relative.replace('/', ':');
+    }
+
+    /**
+     * Qualify task names by Gradle path of project, tasks are executed over
+     * connection of root project
+     *
+     * @param project
+     * @param tasks task names
+     * @return task paths
+     */
+    static String[] qualifyTasks(Project project, String... tasks) {
+        String path = findGradlePath(project);
+        if (":".equals(path)) {
+            return tasks;
+        }
+        String[] qualified = new String[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            String task = tasks[i];
+            qualified[i] = task.startsWith(":") || task.startsWith("-") ? task : path + ":" + task;
+        }
+        return qualified;
+    }
+
+    private static void addToolingArguments(LongRunningOperation operation, FileObject projectDir, GradleArgsConfiguration argsConfiguration, GradleJvmConfiguration jvmConfiguration) {
+        //Emulate Android studio
+        operation.addArguments("-Pandroid.injected.build.model.only.versioned=3");
+        //Prepare load of plugin to retreive tasks from Gradle
+        operation.addJvmArguments("-DANDROID_TOOLING_JAR=" + TOOLING_JAR);
+        operation.addArguments("-I");
+        operation.addArguments(INIT_SCRIPT);
+        if (argsConfiguration != null) {
+            operation.addArguments(argsConfiguration.getJvmArguments());
+        }
+        if (jvmConfiguration == null) {
+            operation.addJvmArguments(GradleJvmConfiguration.getDefaultJvmArguments(projectDir));
+        } else {
+            operation.addJvmArguments(jvmConfiguration.getJvmArguments());
+        }
+    }
+
+    /**
+     * Load tasks of project including group and description, tasks are
+     * realized in Gradle so it is done only on demand
+     *
+     * @param project
+     * @return tasks or null
+     */
+    static AndroidProjectTasks loadProjectTasks(Project project) {
+        GradleHome gradleHome;
+        synchronized (gradleLocations) {
+            gradleHome = gradleLocations.get(project);
+        }
+        if (gradleHome == null) {
+            return null;
+        }
+        File projectDir = FileUtil.normalizeFile(FileUtil.toFile(project.getProjectDirectory()));
+        try (GradleConnectionManager.Lease lease = GradleConnectionManager.acquire(projectDir, gradleHome.getGradleHome())) {
+            BuildActionExecuter<AndroidProjectTasks> executer = lease.getConnection().action(new ProjectModelBuildAction<>(projectDir, AndroidProjectTasks.class));
+            addToolingArguments(executer, project.getProjectDirectory(), project.getLookup().lookup(GradleArgsConfiguration.class), project.getLookup().lookup(GradleJvmConfiguration.class));
+            return executer.run();
+        } catch (GradleConnectionException | IllegalStateException ex) {
+            LOG.log(Level.INFO, "Unable to load tasks of " + projectDir, ex);
+            return null;
+        }
+    }
+
+    private static RootModelLoader findLoader(File rootDir) {
+        synchronized (loaders) {
+            RootModelLoader loader = loaders.get(rootDir);
+            if (loader == null) {
+                loader = new RootModelLoader(rootDir);
+                loaders.put(rootDir, loader);
+            }
+            return loader;
+        }
+    }
+
+    private static class GradleHandlerApi implements LookupListener {
 
         private final Project project;
+        private final File projectDir;
         private final InstanceContent modelContent = new InstanceContent();
         private final Lookup modelLookup = new AbstractLookup(modelContent);
         private final GradleDownloader downloader;
         private final Lookup.Result<GradleHome> lookupResult;
-        private Class models[] = new Class[0];
+        private volatile Class models[] = new Class[0];
         private final BuildMutex buildMutex;
         private final GradleJvmConfiguration jvmConfiguration;
         private final GradleArgsConfiguration argsConfiguration;
-        private final AtomicBoolean cancellation = new AtomicBoolean();
-        private final AtomicReference<DefaultBuildCancellationToken> cancellationReference = new AtomicReference<>();
+        private final RootModelLoader loader;
 
         public GradleHandlerApi(Project project) {
             this.project = project;
+            projectDir = FileUtil.normalizeFile(FileUtil.toFile(project.getProjectDirectory()));
             jvmConfiguration = project.getLookup().lookup(GradleJvmConfiguration.class);
             argsConfiguration = project.getLookup().lookup(GradleArgsConfiguration.class);
             buildMutex = project.getLookup().lookup(BuildMutex.class);
+            loader = findLoader(findRootDir(projectDir));
             downloader = new GradleDownloader(project);
             lookupResult = downloader.getLookup().lookupResult(GradleHome.class);
             lookupResult.addLookupListener(this);
@@ -150,132 +315,420 @@ public class GradleHandlerImpl implements GradleHandler {
             return modelLookup;
         }
 
-        public static final String BLACK = "\033[0;30m";   // BLACK
-        public static final String BLUE = "\033[0;34m";    // BLUE
-
         @Override
         public void resultChanged(LookupEvent ev) {
+            if (models.length == 0) {
+                return;
+            }
+            GradleHome gradleHome = null;
             if (!lookupResult.allInstances().isEmpty()) {
-                buildMutex.mutex().postWriteRequest(this);
+                gradleHome = lookupResult.allInstances().iterator().next();
+                if (gradleHome.getStatus() == GradleDownloader.Status.OK) {
+                    synchronized (gradleLocations) {
+                        gradleLocations.put(project, gradleHome);
+                    }
+                } else {
+                    gradleHome = null;
+                }
             }
+            //without Gradle home only cached models can be served
+            loader.request(this, gradleHome);
         }
 
-        private void deserializeModels() {
-            cancellation.set(false);
-            cancellationReference.set(new DefaultBuildCancellationToken());
-            GradleHome gradleHome = lookupResult.allInstances().iterator().next();
-            if (gradleHome.getStatus() == GradleDownloader.Status.OK) {
-                synchronized (gradleLocations) {
-                    gradleLocations.put(project, gradleHome);
+        /**
+         * Update lookup with models of this project from build action result
+         *
+         * @param projectModels all models of this project
+         */
+        private void modelsLoaded(List<Object> projectModels) {
+            modelContent.set(filterModels(projectModels), null);
+        }
+
+        /**
+         * Update lookup with models delivered by early phase of build action,
+         * other models stay in lookup until complete result arrives
+         *
+         * @param projectModels partial models of this project
+         */
+        private void partialModelsLoaded(List<Object> projectModels) {
+            List<Object> modelList = filterModels(projectModels);
+            if (modelList.isEmpty()) {
+                return;
+            }
+            Set<Class> replaced = new HashSet<>();
+            for (Class cls : models) {
+                for (Object partial : modelList) {
+                    if (cls.isInstance(partial)) {
+                        replaced.add(cls);
+                    }
                 }
-                //      modelContent.set(Collections.emptyList(), null);
-                GradleConnector connector = GradleConnector.newConnector();
-                connector.useInstallation(gradleHome.getGradleHome());
-                connector.forProjectDirectory(FileUtil.toFile(project.getProjectDirectory()));
-                try (ProjectConnection connection = connector.connect()) {
-                    List<Object> modelList = new ArrayList<>();
-                    for (Class model : models) {
-                        ModelBuilder modelBuilder = connection.model(model);
-                        modelBuilder.withCancellationToken(this);
-                        //Emulate Android studio
-                        modelBuilder.addArguments("-Pandroid.injected.build.model.only.versioned=3");
-                        //Prepare load of plugin to retreive tasks from Gradle
-                        modelBuilder.addJvmArguments("-DANDROID_TOOLING_JAR=" + TOOLING_JAR);
-                        modelBuilder.addArguments("-I");
-                        modelBuilder.addArguments(INIT_SCRIPT);
-                        if (argsConfiguration != null) {
-                            modelBuilder.addArguments(argsConfiguration.getJvmArguments());
-                        }
-                        if (jvmConfiguration == null) {
-                            modelBuilder.addJvmArguments("-Xms800m", "-Xmx2000m");
-                        } else {
-                            modelBuilder.addJvmArguments(jvmConfiguration.getJvmArguments());
-                        }
-                        InputOutput io = project.getLookup().lookup(InputOutput.class);
-                        if (io != null) {
-                            io.show(ImmutableSet.of(ShowOperation.OPEN, ShowOperation.MAKE_VISIBLE));
-                            io.getOut().print("\n\r");
-                            io.getOut().print("\n\r");
-                            io.getOut().print("\n\r");
-                            io.getOut().print("\n\r");
-                            io.getOut().println(BLUE + "Deserializing model: " + model.getSimpleName() + BLACK);
-                            io.getOut().print("\n\r");
-                            io.getOut().print("\n\r");
-                            CustomWriterOutputStream cwos = new CustomWriterOutputStream(io.getOut(), "UTF-8");
-                            modelBuilder.setStandardOutput(cwos);
-                            modelBuilder.setStandardError(cwos);
-                            modelBuilder.setColorOutput(true);
+            }
+            for (Object model : modelLookup.lookupAll(Object.class)) {
+                boolean keep = true;
+                for (Class cls : replaced) {
+                    if (cls.isInstance(model)) {
+                        keep = false;
+                    }
+                }
+                if (keep) {
+                    modelList.add(model);
+                }
+            }
+            modelContent.set(modelList, null);
+        }
+
+        private List<Object> filterModels(List<Object> projectModels) {
+            Class[] tmp = models;
+            List<Object> modelList = new ArrayList<>();
+            for (Object model : projectModels) {
+                for (Class cls : tmp) {
+                    if (cls.isInstance(model)) {
+                        modelList.add(model);
+                        break;
+                    }
+                }
+            }
+            return modelList;
+        }
+
+    }
+
+    /**
+     * Loads models of all projects of one Gradle root in one build action.
+     * Requests of modules opened at the same time are coalesced. Module list
+     * is delivered as soon as settings are evaluated, other models after
+     * configuration of build.
+     */
+    private static class RootModelLoader implements Runnable, Cancellable {
+
+        private static final int COALESCE_DELAY = 300;
+        private final File rootDir;
+        private final Set<GradleHandlerApi> handlers = Collections.newSetFromMap(new WeakHashMap<GradleHandlerApi, Boolean>());
+        private final Set<GradleHandlerApi> pending = new LinkedHashSet<>();
+        private final Set<GradleHandlerApi> served = Collections.newSetFromMap(new WeakHashMap<GradleHandlerApi, Boolean>());
+        //served from cache, models of next load replace them only when they differ
+        private final Map<GradleHandlerApi, ArrayList<Object>> validating = new WeakHashMap<>();
+        //explicit reload by user, dependencies are resolved online
+        private boolean forceOnline = false;
+        private final RequestProcessor.Task task;
+        private GradleHome gradleHome;
+        private CachedModels cachedModels;
+        private boolean cacheLoaded = false;
+        //fingerprint computed by cache validation, reused by following load
+        private String fingerprint;
+        //one model load of root at a time, read access allows more
+        private final Object loadLock = new Object();
+        private final AtomicReference<CancellationTokenSource> cancellationSource = new AtomicReference<>(GradleConnector.newCancellationTokenSource());
+        //phased build actions need Gradle 4.8+, older builds fall back to single action
+        private volatile boolean phasedSupported = true;
+
+        public RootModelLoader(File rootDir) {
+            this.rootDir = rootDir;
+            //cache validation and loading of one root never block other roots
+            RequestProcessor rp = new RequestProcessor(GradleHandlerImpl.class.getName() + " " + rootDir.getName(), 1);
+            task = rp.create(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (RootModelLoader.this) {
+                        if (pending.isEmpty()) {
+                            return;
                         }
-                        final ProgressHandle progressHandle = ProgressHandleFactory.createSystemHandle(project.getProjectDirectory().getName() + ": Loading Gradle model..", this);
-                        progressHandle.start();
-                        modelBuilder.addProgressListener(new ProgressListener() {
-                            @Override
-                            public void statusChanged(ProgressEvent event) {
-                                progressHandle.progress(event.getDisplayName());
-                            }
-                        });
-                        try {
-                            modelList.add(modelBuilder.get());
-                        } catch (GradleConnectionException | IllegalStateException gradleConnectionException) {
-                            if (!(gradleConnectionException instanceof BuildCancelledException)) {
-                                Exceptions.printStackTrace(gradleConnectionException);
+                    }
+                    String current = GradleModelCache.fingerprint(rootDir);
+                    CachedModels cache = findValidCache(current);
+                    Map<GradleHandlerApi, ArrayList<Object>> fromCache = new HashMap<>();
+                    GradleHandlerApi first = null;
+                    synchronized (RootModelLoader.this) {
+                        for (Iterator<GradleHandlerApi> it = pending.iterator(); it.hasNext();) {
+                            GradleHandlerApi handler = it.next();
+                            //first request of project is served from cache, next requests are explicit refreshes
+                            if (!served.add(handler)) {
+                                forceOnline = true;
+                            } else if (cache != null && cache.contains(handler.projectDir, handler.models)) {
+                                ArrayList<Object> cached = cache.getModels().get(handler.projectDir);
+                                fromCache.put(handler, cached);
+                                //stays pending, cache is verified by real load in background
+                                validating.put(handler, cached);
                             }
                         }
-                        progressHandle.finish();
+                        if (!pending.isEmpty() && gradleHome != null) {
+                            first = pending.iterator().next();
+                            fingerprint = current;
+                        }
                     }
-                    modelContent.set(modelList, null);
-                } catch (Exception e) {
-                    e.printStackTrace();
+                    for (Map.Entry<GradleHandlerApi, ArrayList<Object>> entry : fromCache.entrySet()) {
+                        entry.getKey().modelsLoaded(entry.getValue());
+                    }
+                    if (first != null) {
+                        first.buildMutex.mutex().postReadRequest(RootModelLoader.this);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Cached models of this root, valid only when build scripts are not
+         * changed since they were fetched
+         *
+         * @param fingerprint current fingerprint of build files
+         * @return
+         */
+        private CachedModels findValidCache(String fingerprint) {
+            CachedModels cache;
+            synchronized (this) {
+                if (!cacheLoaded) {
+                    cacheLoaded = true;
+                    cachedModels = GradleModelCache.load(rootDir);
                 }
+                cache = cachedModels;
+            }
+            if (cache != null && cache.getFingerprint().equals(fingerprint)) {
+                return cache;
+            }
+            return null;
+        }
+
+        public synchronized void request(GradleHandlerApi handler, GradleHome gradleHome) {
+            if (gradleHome != null) {
+                this.gradleHome = gradleHome;
+            }
+            handlers.add(handler);
+            pending.add(handler);
+            task.schedule(COALESCE_DELAY);
+        }
+
+        /**
+         * Project of handler was closed, running load is cancelled when no
+         * project of root stays open
+         */
+        public void handlerClosed(GradleHandlerApi handler) {
+            boolean empty;
+            synchronized (this) {
+                handlers.remove(handler);
+                pending.remove(handler);
+                served.remove(handler);
+                validating.remove(handler);
+                empty = handlers.isEmpty();
+            }
+            if (empty) {
+                cancel();
             }
         }
 
         @Override
         public void run() {
-            try {
-                deserializeModels();
+            synchronized (loadLock) {
+                List<GradleHandlerApi> requested;
+                List<GradleHandlerApi> all;
+                GradleHome home;
+                boolean online;
+                String buildFingerprint;
+                synchronized (this) {
+                    online = forceOnline;
+                    buildFingerprint = fingerprint;
+                    fingerprint = null;
+                    forceOnline = false;
+                    requested = new ArrayList<>(pending);
+                    pending.clear();
+                    all = new ArrayList<>(handlers);
+                    home = gradleHome;
+                    if (home == null) {
+                        //nothing to verify the cache with
+                        validating.clear();
+                    }
+                }
+                if (requested.isEmpty()) {
+                    return;
+                }
+                try {
+                    if (buildFingerprint == null) {
+                        buildFingerprint = GradleModelCache.fingerprint(rootDir);
+                    }
+                    deserializeModels(home, requested, all, online, buildFingerprint);
+                } catch (Exception e) {
+                    Exceptions.printStackTrace(e);
+                }
+            }
+        }
+
+        private void deserializeModels(GradleHome home, List<GradleHandlerApi> requested, final List<GradleHandlerApi> all, boolean online, String fingerprint) {
+            CancellationTokenSource source = GradleConnector.newCancellationTokenSource();
+            cancellationSource.set(source);
+            Set<Class> models = new LinkedHashSet<>();
+            for (GradleHandlerApi handler : all) {
+                models.addAll(Arrays.asList(handler.models));
+            }
+            GradleHandlerApi first = requested.get(0);
+            try (GradleConnectionManager.Lease lease = GradleConnectionManager.acquire(rootDir, home.getGradleHome())) {
+                ProjectConnection connection = lease.getConnection();
+                final ProgressHandle progressHandle = ProgressHandleFactory.createSystemHandle(rootDir.getName() + ": Loading Gradle models..", this);
+                progressHandle.start();
+                long start = System.currentTimeMillis();
+                try {
+                    HashMap<File, ArrayList<Object>> result;
+                    Class[] modelArray = models.toArray(new Class[models.size()]);
+                    //dependencies of unchanged build files were resolved before, local Gradle cache is enough
+                    boolean offline = !online && fingerprint != null && !isOfflineByUser(first)
+                            && fingerprint.equals(GradleModelCache.loadOfflineVerdict(rootDir));
+                    try {
+                        result = load(connection, source, first, modelArray, all, progressHandle, offline);
+                        //missing artifact is reported as sync issue, not as failure
+                        if (offline && GradleModelCache.hasUnresolvedDependencies(result)) {
+                            result = null;
+                        }
+                    } catch (GradleConnectionException ex) {
+                        if (!offline || source.token().isCancellationRequested()) {
+                            throw ex;
+                        }
+                        result = null;
+                    }
+                    if (result == null) {
+                        LOG.log(Level.INFO, "Offline load of Gradle models of {0} failed, retrying online", rootDir);
+                        GradleModelCache.storeOfflineVerdict(rootDir, null);
+                        result = load(connection, source, first, modelArray, all, progressHandle, false);
+                        offline = false;
+                    }
+                    //only online load which resolved everything proves that dependencies are in local Gradle cache
+                    if (fingerprint != null && !offline && !isOfflineByUser(first)
+                            && !GradleModelCache.hasUnresolvedDependencies(result)) {
+                        GradleModelCache.storeOfflineVerdict(rootDir, fingerprint);
+                    }
+                    LOG.log(Level.INFO, "Loaded Gradle models of {0} projects from {1} in {2} ms", new Object[]{result.size(), rootDir, System.currentTimeMillis() - start});
+                    for (GradleHandlerApi handler : all) {
+                        ArrayList<Object> projectModels = result.get(handler.projectDir);
+                        ArrayList<Object> cached;
+                        synchronized (this) {
+                            cached = validating.remove(handler);
+                        }
+                        if (projectModels != null && !GradleModelCache.sameModels(cached, projectModels)) {
+                            handler.modelsLoaded(projectModels);
+                        }
+                    }
+                    if (fingerprint != null) {
+                        HashSet<String> modelClasses = new HashSet<>();
+                        for (Class model : models) {
+                            modelClasses.add(model.getName());
+                        }
+                        CachedModels cache = new CachedModels(fingerprint, modelClasses, result);
+                        synchronized (this) {
+                            cachedModels = cache;
+                            cacheLoaded = true;
+                        }
+                        GradleModelCache.store(rootDir, cache);
+                    }
+                } catch (GradleConnectionException | IllegalStateException gradleConnectionException) {
+                    if (gradleConnectionException instanceof BuildCancelledException || source.token().isCancellationRequested()) {
+                        LOG.log(Level.INFO, "Loading of Gradle models of {0} cancelled", rootDir);
+                    } else {
+                        Exceptions.printStackTrace(gradleConnectionException);
+                    }
+                } finally {
+                    progressHandle.finish();
+                }
             } catch (Exception e) {
                 Exceptions.printStackTrace(e);
             }
         }
 
-        @Override
-        public boolean isCancellationRequested() {
-            return cancellation.get();
+        private HashMap<File, ArrayList<Object>> load(ProjectConnection connection, CancellationTokenSource source, GradleHandlerApi first, Class[] models, List<GradleHandlerApi> all, ProgressHandle progressHandle, boolean offline) {
+            if (phasedSupported && Arrays.asList(models).contains(GradleBuild.class)) {
+                try {
+                    return runPhased(connection, source, first, models, all, progressHandle, offline);
+                } catch (UnsupportedVersionException ex) {
+                    LOG.log(Level.INFO, "Phased build action not supported by Gradle of {0}", rootDir);
+                    phasedSupported = false;
+                }
+            }
+            progressHandle.progress("Configuring projects");
+            BuildActionExecuter<HashMap<File, ArrayList<Object>>> executer = connection.action(new AllModelsBuildAction(models));
+            configure(executer, source, first, progressHandle, offline);
+            return normalize(executer.run());
         }
 
-        @Override
-        public boolean cancel() {
-            cancellation.set(true);
-            cancellationReference.get().cancel();
-            return true;
+        private synchronized boolean isValidating(GradleHandlerApi handler) {
+            return validating.containsKey(handler);
         }
 
-        @Override
-        public BuildCancellationToken getToken() {
-            return cancellationReference.get();
+        private static boolean isOfflineByUser(GradleHandlerApi handler) {
+            return handler.argsConfiguration != null && Arrays.asList(handler.argsConfiguration.getJvmArguments()).contains("--offline");
         }
 
-    }
-
-    private static class CustomWriterOutputStream extends WriterOutputStream {
+        /**
+         * Runs build action in two phases, GradleBuild of all projects is
+         * delivered to handlers after settings evaluation
+         *
+         * @return models of all projects
+         */
+        private HashMap<File, ArrayList<Object>> runPhased(ProjectConnection connection, CancellationTokenSource source, GradleHandlerApi first, Class[] models, final List<GradleHandlerApi> all, final ProgressHandle progressHandle, boolean offline) {
+            final AtomicReference<HashMap<File, ArrayList<Object>>> result = new AtomicReference<>();
+            BuildActionExecuter<Void> executer = connection.action()
+                    .projectsLoaded(new AllModelsBuildAction(new Class[]{GradleBuild.class}), new IntermediateResultHandler<HashMap<File, ArrayList<Object>>>() {
+                        @Override
+                        public void onComplete(HashMap<File, ArrayList<Object>> partial) {
+                            progressHandle.progress("Configuring projects");
+                            HashMap<File, ArrayList<Object>> normalized = normalize(partial);
+                            for (GradleHandlerApi handler : all) {
+                                ArrayList<Object> projectModels = normalized.get(handler.projectDir);
+                                if (projectModels != null && !isValidating(handler)) {
+                                    handler.partialModelsLoaded(projectModels);
+                                }
+                            }
+                        }
+                    })
+                    .buildFinished(new AllModelsBuildAction(models), new IntermediateResultHandler<HashMap<File, ArrayList<Object>>>() {
+                        @Override
+                        public void onComplete(HashMap<File, ArrayList<Object>> complete) {
+                            result.set(normalize(complete));
+                        }
+                    })
+                    .build();
+            progressHandle.progress("Loading projects");
+            configure(executer, source, first, progressHandle, offline);
+            executer.run();
+            return result.get();
+        }
 
-        private final Writer writer;
+        private void configure(BuildActionExecuter<?> executer, CancellationTokenSource source, GradleHandlerApi first, final ProgressHandle progressHandle, boolean offline) {
+            executer.withCancellationToken(source.token());
+            addToolingArguments(executer, first.project.getProjectDirectory(), first.argsConfiguration, first.jvmConfiguration);
+            if (offline) {
+                executer.addArguments("--offline");
+            }
+            InputOutput io = first.project.getLookup().lookup(InputOutput.class);
+            if (io != null) {
+                io.show(ImmutableSet.of(ShowOperation.OPEN, ShowOperation.MAKE_VISIBLE));
+                io.getOut().print("\n\r");
+                io.getOut().print("\n\r");
+                io.getOut().print("\n\r");
+                io.getOut().print("\n\r");
+                io.getOut().println(BLUE + "Deserializing models of: " + rootDir.getName() + (offline ? " (offline)" : "") + BLACK);
+                io.getOut().print("\n\r");
+                io.getOut().print("\n\r");
+                GradleOutputStream cwos = new GradleOutputStream(io.getOut());
+                executer.setStandardOutput(cwos);
+                executer.setStandardError(cwos);
+                executer.setColorOutput(true);
+            }
+            executer.addProgressListener(new ProgressListener() {
+                @Override
+                public void statusChanged(ProgressEvent event) {
+                    progressHandle.progress(event.getDisplayName());
+                }
+            });
+        }
 
-        public CustomWriterOutputStream(Writer writer, String charsetName) {
-            super(writer, charsetName);
-            this.writer = writer;
+        private static HashMap<File, ArrayList<Object>> normalize(HashMap<File, ArrayList<Object>> models) {
+            HashMap<File, ArrayList<Object>> result = new HashMap<>();
+            for (Map.Entry<File, ArrayList<Object>> entry : models.entrySet()) {
+                result.put(FileUtil.normalizeFile(entry.getKey()), entry.getValue());
+            }
+            return result;
         }
 
         @Override
-        public void write(byte[] b, int off, int len) throws IOException {
-            synchronized (writer) {
-                String s = new String(b, off, len, "UTF-8").replaceAll("\u001B(\\[)((\\d+)(;))+(\\d+)m", "");
-                if (!s.contains("\n\r") && s.contains("\n")) {
-                    s = s.replace("\n", "\n\r");
-                }
-                writer.write(s);
-            }
+        public boolean cancel() {
+            cancellationSource.get().cancel();
+            return true;
         }
 
     }
@@ -0,0 +1,470 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openide.modules.Places;
+import org.openide.util.Lookup;
+
+/**
+ * Persistent cache of Gradle models per root project. Models are stored with
+ * fingerprint of all build scripts of the build (including applied script
+ * fragments, buildSrc and version catalogs) and served on the next open when
+ * the fingerprint matches.
+ *
+ * @author arsi
+ */
+public class GradleModelCache {
+
+    private static final Logger LOG = Logger.getLogger(GradleModelCache.class.getName());
+    private static final String CACHE_FOLDER = "nbandroid/models";
+    private static final Set<String> BUILD_FILES = new HashSet<>(Arrays.asList(
+            "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts",
+            "gradle.properties", "local.properties", "gradle-wrapper.properties"));
+    private static final Set<String> SKIP_FOLDERS = new HashSet<>(Arrays.asList(
+            "build", "src", "node_modules"));
+    //sources of buildSrc are part of build logic
+    private static final String BUILD_SRC = "buildSrc/";
+    private static final int MAX_DEPTH = 8;
+    private static final String[] SETTINGS_FILES = {"settings.gradle", "settings.gradle.kts"};
+    //settings which compute project locations, included folders can't be read from them
+    private static final String[] DYNAMIC_SETTINGS = {"projectDir", "includeFlat", "includeBuild", "listFiles", "eachDir", "fileTree"};
+    //include ':app', ':lib' or include(":app"), arguments may continue on next lines after comma
+    private static final Pattern INCLUDE = Pattern.compile("^\\s*include\\b((?:[^\\n]*,[ \\t]*\\r?\\n)*[^\\n]*)", Pattern.MULTILINE);
+    private static final Pattern QUOTED = Pattern.compile("[\"']([^\"'\\s]+)[\"']");
+    //SyncIssue.TYPE_UNRESOLVED_DEPENDENCY of Android builder model
+    static final int TYPE_UNRESOLVED_DEPENDENCY = 2;
+
+    private GradleModelCache() {
+    }
+
+    public static class CachedModels implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final String fingerprint;
+        private final HashSet<String> modelClasses;
+        private final HashMap<File, ArrayList<Object>> models;
+
+        public CachedModels(String fingerprint, HashSet<String> modelClasses, HashMap<File, ArrayList<Object>> models) {
+            this.fingerprint = fingerprint;
+            this.modelClasses = modelClasses;
+            this.models = models;
+        }
+
+        /**
+         * Test if cache contains all requested models of project
+         *
+         * @param projectDir
+         * @param classes
+         * @return
+         */
+        public boolean contains(File projectDir, Class[] classes) {
+            if (!models.containsKey(projectDir)) {
+                return false;
+            }
+            for (Class cls : classes) {
+                if (!modelClasses.contains(cls.getName())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public HashMap<File, ArrayList<Object>> getModels() {
+            return models;
+        }
+
+    }
+
+    /**
+     * Fingerprint of all Gradle build files of root project. Only locations
+     * Gradle reads scripts from are visited: root and gradle folder, projects
+     * included by settings and buildSrc. Whole tree is walked when settings
+     * compute project locations.
+     *
+     * @param rootDir
+     * @return
+     */
+    public static String fingerprint(File rootDir) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            String settings = readSettings(rootDir);
+            if (settings != null && isDynamic(settings)) {
+                digestFolder(digest, rootDir, "", 0);
+            } else {
+                digestScripts(digest, rootDir, "");
+                digestScripts(digest, new File(rootDir, "gradle"), "gradle/");
+                digestScripts(digest, new File(rootDir, "gradle/wrapper"), "gradle/wrapper/");
+                if (settings != null) {
+                    for (String path : includedProjects(settings)) {
+                        digestScripts(digest, new File(rootDir, path), path + "/");
+                    }
+                }
+                File buildSrc = new File(rootDir, BUILD_SRC);
+                if (buildSrc.isDirectory()) {
+                    digestFolder(digest, buildSrc, BUILD_SRC, 1);
+                }
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException ex) {
+            LOG.log(Level.INFO, "Unable to compute build fingerprint", ex);
+            return null;
+        }
+    }
+
+    private static String readSettings(File rootDir) throws IOException {
+        for (String name : SETTINGS_FILES) {
+            File file = new File(rootDir, name);
+            if (file.isFile()) {
+                return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDynamic(String settings) {
+        for (String marker : DYNAMIC_SETTINGS) {
+            if (settings.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Folders of projects included by settings, relative to root
+     *
+     * @param settings content of settings script
+     * @return sorted project folders
+     */
+    static Set<String> includedProjects(String settings) {
+        Set<String> paths = new TreeSet<>();
+        Matcher include = INCLUDE.matcher(settings);
+        while (include.find()) {
+            Matcher project = QUOTED.matcher(include.group(1));
+            while (project.find()) {
+                String path = project.group(1);
+                while (path.startsWith(":")) {
+                    path = path.substring(1);
+                }
+                if (!path.isEmpty()) {
+                    paths.add(path.replace(':', '/'));
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static void digestScripts(MessageDigest digest, File folder, String path) throws IOException {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        byte[] buffer = new byte[8192];
+        for (File child : children) {
+            if (child.isFile() && isBuildFile(path, child.getName())) {
+                digestFile(digest, child, path + child.getName(), buffer);
+            }
+        }
+    }
+
+    private static void digestFolder(MessageDigest digest, File folder, String path, int depth) throws IOException {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        byte[] buffer = new byte[8192];
+        for (File child : children) {
+            String name = child.getName();
+            if (child.isDirectory()) {
+                if (depth < MAX_DEPTH && !name.startsWith(".") && includeFolder(path, name)) {
+                    digestFolder(digest, child, path + name + "/", depth + 1);
+                }
+            } else if (isBuildFile(path, name)) {
+                digestFile(digest, child, path + name, buffer);
+            }
+        }
+    }
+
+    private static void digestFile(MessageDigest digest, File file, String path, byte[] buffer) throws IOException {
+        digest.update(path.getBytes(StandardCharsets.UTF_8));
+        try (InputStream is = new FileInputStream(file)) {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, len);
+            }
+        }
+    }
+
+    private static boolean includeFolder(String path, String name) {
+        if (path.startsWith(BUILD_SRC)) {
+            return !"build".equals(name);
+        }
+        return !SKIP_FOLDERS.contains(name);
+    }
+
+    private static boolean isBuildFile(String path, String name) {
+        return BUILD_FILES.contains(name)
+                || name.endsWith(".gradle")
+                || name.endsWith(".gradle.kts")
+                || name.endsWith(".versions.toml")
+                || path.startsWith(BUILD_SRC);
+    }
+
+    /**
+     * Test if some of loaded models reports unresolved dependency. Android
+     * plugin doesn't fail the model build when artifact is missing in local
+     * Gradle cache, it reports sync issue instead. Builder model is not
+     * visible from this module, issues are read by reflection.
+     *
+     * @param models models of all projects of build
+     * @return true if some dependency was not resolved
+     */
+    public static boolean hasUnresolvedDependencies(Map<File, ? extends List<Object>> models) {
+        for (List<Object> projectModels : models.values()) {
+            for (Object model : projectModels) {
+                Object issues = invoke(model, "getSyncIssues");
+                if (issues instanceof Iterable) {
+                    for (Object issue : (Iterable<?>) issues) {
+                        Object type = invoke(issue, "getType");
+                        if (type instanceof Number && ((Number) type).intValue() == TYPE_UNRESOLVED_DEPENDENCY) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Object invoke(Object object, String name) {
+        if (object == null) {
+            return null;
+        }
+        try {
+            Method method = object.getClass().getMethod(name);
+            method.setAccessible(true);
+            return method.invoke(object);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            //not an Android model or older plugin without sync issues
+            return null;
+        }
+    }
+
+    /**
+     * Compare models of one project by their serialized form, proxies of
+     * Tooling API don't implement equals
+     *
+     * @param cached
+     * @param loaded
+     * @return true if both are serializable and equal
+     */
+    public static boolean sameModels(ArrayList<Object> cached, ArrayList<Object> loaded) {
+        if (cached == null || loaded == null) {
+            return false;
+        }
+        try {
+            return Arrays.equals(serialize(cached), serialize(loaded));
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(out)) {
+            os.writeObject(object);
+        }
+        return out.toByteArray();
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static File cacheFile(File rootDir) {
+        return cacheFile(rootDir, ".obj");
+    }
+
+    private static File cacheFile(File rootDir, String extension) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            String key = toHex(digest.digest(rootDir.getAbsolutePath().getBytes(StandardCharsets.UTF_8)));
+            return new File(Places.getCacheSubdirectory(CACHE_FOLDER), key + extension);
+        } catch (NoSuchAlgorithmException ex) {
+            return new File(Places.getCacheSubdirectory(CACHE_FOLDER), Integer.toHexString(rootDir.getAbsolutePath().hashCode()) + extension);
+        }
+    }
+
+    /**
+     * Fingerprint of build files whose dependencies were resolved by last
+     * successful model load, the local Gradle cache contains them
+     *
+     * @param rootDir
+     * @return fingerprint or null
+     */
+    public static String loadOfflineVerdict(File rootDir) {
+        File file = cacheFile(rootDir, ".offline");
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Record fingerprint of resolved build files
+     *
+     * @param rootDir
+     * @param fingerprint fingerprint or null to go online next time
+     */
+    public static void storeOfflineVerdict(File rootDir, String fingerprint) {
+        File file = cacheFile(rootDir, ".offline");
+        if (fingerprint == null) {
+            file.delete();
+            return;
+        }
+        try {
+            Files.write(file.toPath(), fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Unable to store offline verdict " + file, ex);
+        }
+    }
+
+    /**
+     * Load cached models of root project
+     *
+     * @param rootDir
+     * @return cached models or null
+     */
+    public static CachedModels load(File rootDir) {
+        File file = cacheFile(rootDir);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ObjectInputStream is = new ModelInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return (CachedModels) is.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            LOG.log(Level.FINE, "Invalid model cache " + file, ex);
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Store models of root project
+     *
+     * @param rootDir
+     * @param models
+     */
+    public static void store(File rootDir, CachedModels models) {
+        File file = cacheFile(rootDir);
+        File tmp = new File(file.getPath() + ".tmp");
+        try (ObjectOutputStream os = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            os.writeObject(models);
+        } catch (IOException ex) {
+            //some model is not serializable, don't cache this build
+            LOG.log(Level.FINE, "Unable to store model cache " + file, ex);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+            }
+        }
+    }
+
+    /**
+     * Resolve model classes and proxies from all modules
+     */
+    private static class ModelInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        public ModelInputStream(InputStream in) throws IOException {
+            super(in);
+            ClassLoader loader = Lookup.getDefault().lookup(ClassLoader.class);
+            classLoader = loader != null ? loader : GradleModelCache.class.getClassLoader();
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException ex) {
+                return super.resolveClass(desc);
+            }
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            Class<?>[] classes = new Class<?>[interfaces.length];
+            for (int i = 0; i < interfaces.length; i++) {
+                classes[i] = Class.forName(interfaces[i], false, classLoader);
+            }
+            return Proxy.getProxyClass(classLoader, classes);
+        }
+
+    }
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.netbeans.api.io.Hyperlink;
+import org.netbeans.api.io.OutputWriter;
+import org.openide.cookies.LineCookie;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.loaders.DataObject;
+import org.openide.loaders.DataObjectNotFoundException;
+import org.openide.text.Line;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Gradle output to NetBeans output window. Output is split to lines at byte
+ * level, complete lines are written in batches and compiler messages get
+ * hyperlinks.
+ *
+ * @author arsi
+ */
+public class GradleOutputStream extends OutputStream {
+
+    private static final RequestProcessor RP = new RequestProcessor(GradleOutputStream.class.getName(), 1);
+    private static final int MAX_LINE = 16 * 1024;
+    private static final int FLUSH_DELAY = 200;
+    private static final String EOL = "\n\r";
+    private static final String DAEMON_MISMATCH = GradleHandlerImpl.BLUE
+            + "JVM arguments of running Gradle daemons are different, a new daemon was started. "
+            + "Check org.gradle.jvmargs in gradle.properties and the Gradle JVM settings of the project."
+            + GradleHandlerImpl.BLACK;
+    private static final byte ESC = 0x1B;
+    //e: /path/File.kt: (10, 5): message
+    private static final Pattern KOTLIN_MESSAGE = Pattern.compile("^[ew]: (?:file://)?(.+?\\.kts?)(?::? \\((\\d+), \\d+\\)|:(\\d+):\\d+).*");
+    ///path/File.java:10: error: message
+    private static final Pattern JAVA_MESSAGE = Pattern.compile("^(.+?\\.java):(\\d+): .*");
+
+    private final OutputWriter writer;
+    private final byte[] line = new byte[MAX_LINE];
+    private int lineLength = 0;
+    private boolean lineHasEscape = false;
+    private final StringBuilder batch = new StringBuilder();
+    private final RequestProcessor.Task flushTask = RP.create(new Runnable() {
+        @Override
+        public void run() {
+            try {
+                flush();
+            } catch (IOException ex) {
+            }
+        }
+    });
+
+    public GradleOutputStream(OutputWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            byte c = b[i];
+            if (c == '\n') {
+                endLine(true, lineLength);
+            } else if (c != '\r') {
+                if (lineLength == MAX_LINE) {
+                    endLine(false, charBoundary());
+                }
+                if (c == ESC) {
+                    lineHasEscape = true;
+                }
+                line[lineLength++] = c;
+            }
+        }
+        writeBatch();
+        if (lineLength > 0) {
+            flushTask.schedule(FLUSH_DELAY);
+        }
+    }
+
+    /**
+     * Write partial line, bytes of incomplete UTF-8 character wait for rest
+     * of the character
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        int length = charBoundary();
+        if (length > 0) {
+            endLine(false, length);
+        }
+        writeBatch();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (lineLength > 0) {
+            endLine(false, lineLength);
+        }
+        writeBatch();
+    }
+
+    /**
+     * Length of line prefix which ends at UTF-8 character boundary
+     */
+    private int charBoundary() {
+        int start = lineLength;
+        //continuation bytes 10xxxxxx, at most 3 of them
+        while (start > 0 && lineLength - start < 4 && (line[start - 1] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start == 0 || lineLength - start > 3) {
+            //not UTF-8, any split is fine
+            return lineLength;
+        }
+        int lead = line[start - 1] & 0xFF;
+        int size = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        if (lineLength - (start - 1) >= size) {
+            return lineLength;
+        }
+        return start - 1;
+    }
+
+    /**
+     * End line or its part, rest of bytes stays in line
+     *
+     * @param eol line is complete
+     * @param length number of bytes written
+     */
+    private void endLine(boolean eol, int length) {
+        String text = new String(line, 0, length, StandardCharsets.UTF_8);
+        if (lineHasEscape) {
+            text = stripColors(text);
+        }
+        //rest is part of one character only
+        System.arraycopy(line, length, line, 0, lineLength - length);
+        lineLength -= length;
+        lineHasEscape = false;
+        Hyperlink hyperlink = eol ? findHyperlink(text) : null;
+        if (hyperlink != null) {
+            writeBatch();
+            print(text, hyperlink);
+        } else {
+            batch.append(text);
+            if (eol) {
+                batch.append(EOL);
+            }
+        }
+        //Starting a Gradle Daemon, 1 incompatible Daemon could not be reused, use --status for details
+        if (eol && text.startsWith("Starting a Gradle Daemon") && text.contains("incompatible")) {
+            batch.append(DAEMON_MISMATCH).append(EOL);
+        }
+    }
+
+    private void writeBatch() {
+        if (batch.length() > 0) {
+            print(batch.toString());
+            batch.setLength(0);
+        }
+    }
+
+    void print(String text) {
+        synchronized (writer) {
+            writer.print(text);
+        }
+    }
+
+    void print(String text, Hyperlink hyperlink) {
+        synchronized (writer) {
+            writer.print(text, hyperlink);
+            writer.print(EOL);
+        }
+    }
+
+    /**
+     * Remove color sequences with parameters, ie ESC[0;30m
+     */
+    static String stripColors(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == ESC && i + 1 < length && text.charAt(i + 1) == '[') {
+                int j = i + 2;
+                boolean params = false;
+                while (j < length && (Character.isDigit(text.charAt(j)) || text.charAt(j) == ';')) {
+                    params |= text.charAt(j) == ';';
+                    j++;
+                }
+                if (params && j < length && text.charAt(j) == 'm') {
+                    i = j + 1;
+                    continue;
+                }
+            }
+            sb.append(c);
+            i++;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Regex is applied only to lines which can contain compiler message
+     */
+    private static Hyperlink findHyperlink(String text) {
+        Matcher matcher = null;
+        if (text.length() > 3 && (text.startsWith("e: ") || text.startsWith("w: "))) {
+            matcher = KOTLIN_MESSAGE.matcher(text);
+        } else if (text.contains(".java:")) {
+            matcher = JAVA_MESSAGE.matcher(text);
+        }
+        if (matcher == null || !matcher.matches()) {
+            return null;
+        }
+        final File file = new File(matcher.group(1));
+        String lineNumber = matcher.group(2);
+        if (lineNumber == null && matcher.groupCount() > 2) {
+            lineNumber = matcher.group(3);
+        }
+        if (!file.isAbsolute() || lineNumber == null) {
+            return null;
+        }
+        final int lineIndex = Integer.parseInt(lineNumber) - 1;
+        return Hyperlink.from(new Runnable() {
+            @Override
+            public void run() {
+                openFile(file, lineIndex);
+            }
+        }, true);
+    }
+
+    private static void openFile(File file, int lineIndex) {
+        FileObject fo = FileUtil.toFileObject(FileUtil.normalizeFile(file));
+        if (fo == null) {
+            return;
+        }
+        try {
+            LineCookie lineCookie = DataObject.find(fo).getLookup().lookup(LineCookie.class);
+            if (lineCookie != null) {
+                Line.Set lineSet = lineCookie.getLineSet();
+                Line line = lineSet.getOriginal(Math.max(0, lineIndex));
+                line.show(Line.ShowOpenType.OPEN, Line.ShowVisibilityType.FOCUS);
+            }
+        } catch (DataObjectNotFoundException | IndexOutOfBoundsException ex) {
+        }
+    }
+
+}
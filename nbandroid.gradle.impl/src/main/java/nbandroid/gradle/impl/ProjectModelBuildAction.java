@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.File;
+import java.io.IOException;
+import org.gradle.tooling.BuildAction;
+import org.gradle.tooling.BuildController;
+import org.gradle.tooling.model.gradle.BasicGradleProject;
+
+/**
+ * Fetches model of one project of the build over connection of root project
+ *
+ * @author arsi
+ */
+public class ProjectModelBuildAction<T> implements BuildAction<T> {
+
+    private static final long serialVersionUID = 1L;
+    private final File projectDir;
+    private final Class<T> model;
+
+    public ProjectModelBuildAction(File projectDir, Class<T> model) {
+        this.projectDir = projectDir;
+        this.model = model;
+    }
+
+    @Override
+    public T execute(BuildController controller) {
+        File target = canonical(projectDir);
+        for (BasicGradleProject gradleProject : controller.getBuildModel().getProjects()) {
+            if (target.equals(canonical(gradleProject.getProjectDirectory()))) {
+                return controller.findModel(gradleProject, model);
+            }
+        }
+        return null;
+    }
+
+    private static File canonical(File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException ex) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Per root build mutexes under concurrent load, executors of mutexes are
+ * replaced by counting fakes
+ *
+ * @author arsi
+ */
+public class BuildMutexImplTest {
+
+    private static final int ROOTS = 4;
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 500;
+    private final List<FakeExecutor> executors = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (FakeExecutor executor : executors) {
+            executor.delegate.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOneMutexPerRoot() {
+        File rootA = new File("rootA").getAbsoluteFile();
+        File rootB = new File("rootB").getAbsoluteFile();
+        BuildMutexImpl a = BuildMutexImpl.forRoot(rootA);
+        assertSame(a, BuildMutexImpl.forRoot(rootA));
+        assertNotSame(a, BuildMutexImpl.forRoot(rootB));
+    }
+
+    @Test(timeout = 30000)
+    public void testRootsDoNotWaitForEachOther() throws Exception {
+        final BuildMutexImpl a = new BuildMutexImpl(newExecutor());
+        final BuildMutexImpl b = new BuildMutexImpl(newExecutor());
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                a.mutex().writeAccess(new Runnable() {
+                    @Override
+                    public void run() {
+                        locked.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }
+        });
+        holder.start();
+        locked.await();
+        final AtomicInteger entered = new AtomicInteger();
+        //write access of other root while first root is held
+        b.mutex().writeAccess(new Runnable() {
+            @Override
+            public void run() {
+                entered.incrementAndGet();
+            }
+        });
+        assertEquals(1, entered.get());
+        release.countDown();
+        holder.join();
+    }
+
+    @Test(timeout = 120000)
+    public void testStressNoDeadlock() throws Exception {
+        final BuildMutexImpl[] mutexes = new BuildMutexImpl[ROOTS];
+        final AtomicInteger[] writers = new AtomicInteger[ROOTS];
+        final AtomicInteger[] readers = new AtomicInteger[ROOTS];
+        for (int i = 0; i < ROOTS; i++) {
+            mutexes[i] = new BuildMutexImpl(newExecutor());
+            writers[i] = new AtomicInteger();
+            readers[i] = new AtomicInteger();
+        }
+        final AtomicInteger posted = new AtomicInteger();
+        final AtomicInteger postedDone = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final Random random = new Random(t);
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < ITERATIONS; i++) {
+                            final int root = random.nextInt(ROOTS);
+                            final BuildMutexImpl mutex = mutexes[root];
+                            switch (random.nextInt(5)) {
+                                case 0:
+                                    mutex.mutex().writeAccess(new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            checkWrite(root, writers, readers);
+                                            //read inside write of same root is allowed
+                                            mutex.mutex().readAccess(new Runnable() {
+                                                @Override
+                                                public void run() {
+                                                    assertEquals(1, writers[root].get());
+                                                }
+                                            });
+                                            writers[root].decrementAndGet();
+                                        }
+                                    });
+                                    break;
+                                case 1:
+                                    mutex.mutex().readAccess(new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            readers[root].incrementAndGet();
+                                            assertEquals(0, writers[root].get());
+                                            readers[root].decrementAndGet();
+                                        }
+                                    });
+                                    break;
+                                case 2:
+                                    posted.incrementAndGet();
+                                    mutex.mutex().postWriteRequest(new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            checkWrite(root, writers, readers);
+                                            writers[root].decrementAndGet();
+                                            postedDone.incrementAndGet();
+                                        }
+                                    });
+                                    break;
+                                case 3:
+                                    posted.incrementAndGet();
+                                    mutex.mutex().postReadRequest(new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            assertEquals(0, writers[root].get());
+                                            postedDone.incrementAndGet();
+                                        }
+                                    });
+                                    break;
+                                default:
+                                    //nested write of other root, always in root order
+                                    final int other = (root + 1) % ROOTS;
+                                    final int first = Math.min(root, other);
+                                    final int second = Math.max(root, other);
+                                    mutexes[first].getPrivileged().enterWriteAccess();
+                                    try {
+                                        checkWrite(first, writers, readers);
+                                        mutexes[second].mutex().writeAccess(new Runnable() {
+                                            @Override
+                                            public void run() {
+                                                checkWrite(second, writers, readers);
+                                                writers[second].decrementAndGet();
+                                            }
+                                        });
+                                        writers[first].decrementAndGet();
+                                    } finally {
+                                        mutexes[first].getPrivileged().exitWriteAccess();
+                                    }
+                                    break;
+                            }
+                        }
+                    } catch (Throwable ex) {
+                        failure.compareAndSet(null, ex);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        //posted requests finish on fake executors or in posting thread
+        long deadline = System.currentTimeMillis() + 60000;
+        while (postedDone.get() < posted.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+        assertEquals(posted.get(), postedDone.get());
+        for (FakeExecutor executor : executors) {
+            assertTrue(executor.awaitIdle(10000));
+        }
+    }
+
+    private static void checkWrite(int root, AtomicInteger[] writers, AtomicInteger[] readers) {
+        assertEquals(1, writers[root].incrementAndGet());
+        assertEquals(0, readers[root].get());
+    }
+
+    private FakeExecutor newExecutor() {
+        FakeExecutor executor = new FakeExecutor();
+        executors.add(executor);
+        return executor;
+    }
+
+    /**
+     * Runs requests on its own thread and counts them
+     */
+    private static final class FakeExecutor implements Executor {
+
+        private final ExecutorService delegate = Executors.newSingleThreadExecutor();
+        private final AtomicInteger submitted = new AtomicInteger();
+        private final AtomicInteger executed = new AtomicInteger();
+
+        @Override
+        public void execute(final Runnable command) {
+            submitted.incrementAndGet();
+            delegate.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        command.run();
+                    } finally {
+                        executed.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        private boolean awaitIdle(long timeout) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeout;
+            while (executed.get() < submitted.get()) {
+                if (System.currentTimeMillis() > deadline) {
+                    return false;
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            return true;
+        }
+    }
+
+}
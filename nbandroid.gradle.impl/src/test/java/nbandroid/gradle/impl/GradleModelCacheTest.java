@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.TreeSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Build fingerprint and sync issues of loaded models. Offline load against
+ * local file repository which misses one artifact is simulated by proxies
+ * like the ones of Tooling API.
+ *
+ * @author arsi
+ */
+public class GradleModelCacheTest {
+
+    private static final File APP = new File("/build/app");
+    private static final File LIB = new File("/build/lib");
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("fingerprint").toFile();
+        write("settings.gradle", "rootProject.name = 'demo'\n"
+                + "include ':app',\n"
+                + "        ':lib:core'\n"
+                + "// include ':commented'\n");
+        write("build.gradle", "buildscript { }");
+        write("gradle.properties", "org.gradle.jvmargs=-Xmx2g");
+        write("gradle/wrapper/gradle-wrapper.properties", "distributionUrl=gradle-5.0-bin.zip");
+        write("gradle/libs.versions.toml", "[versions]");
+        write("app/build.gradle", "apply plugin: 'com.android.application'");
+        write("app/src/main/java/Main.java", "class Main {}");
+        write("lib/core/build.gradle.kts", "plugins { id(\"com.android.library\") }");
+        write("buildSrc/src/main/groovy/Deps.groovy", "class Deps {}");
+        write("samples/build.gradle", "apply plugin: 'java'");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        delete(root);
+    }
+
+    @Test
+    public void testIncludedProjects() {
+        assertEquals(new TreeSet<>(Arrays.asList("app", "lib/core", "x")),
+                GradleModelCache.includedProjects("include ':app',\n  ':lib:core'\n// include ':commented'\ninclude(\"x\")\nincludeBuild 'other'\n"));
+    }
+
+    @Test
+    public void testBuildFilesChangeFingerprint() throws IOException {
+        String[] files = {"settings.gradle", "build.gradle", "gradle.properties", "gradle/wrapper/gradle-wrapper.properties",
+            "gradle/libs.versions.toml", "app/build.gradle", "lib/core/build.gradle.kts", "buildSrc/src/main/groovy/Deps.groovy"};
+        for (String file : files) {
+            String before = GradleModelCache.fingerprint(root);
+            write(file, read(file) + "\n//changed");
+            assertNotEquals(file, before, GradleModelCache.fingerprint(root));
+        }
+        String before = GradleModelCache.fingerprint(root);
+        write("app/extra.gradle", "ext.x = 1");
+        assertNotEquals(before, GradleModelCache.fingerprint(root));
+    }
+
+    @Test
+    public void testOtherFilesDontChangeFingerprint() throws IOException {
+        String before = GradleModelCache.fingerprint(root);
+        write("app/src/main/java/Main.java", "class Main { int x; }");
+        write("app/src/main/build.gradle", "not a script of build");
+        write("samples/build.gradle", "apply plugin: 'application'");
+        write("buildSrc/build/classes/Deps.class", "compiled");
+        assertEquals(before, GradleModelCache.fingerprint(root));
+    }
+
+    @Test
+    public void testComputedProjectDirIsWatched() throws IOException {
+        write("settings.gradle", "include ':app'\nproject(':app').projectDir = new File('modules/app')");
+        write("modules/app/build.gradle", "apply plugin: 'com.android.application'");
+        String before = GradleModelCache.fingerprint(root);
+        write("modules/app/build.gradle", "apply plugin: 'com.android.library'");
+        assertNotEquals(before, GradleModelCache.fingerprint(root));
+    }
+
+    @Test
+    public void testUnresolvedDependencyIsDetected() {
+        HashMap<File, ArrayList<Object>> models = new HashMap<>();
+        models.put(LIB, models(androidProject(issue(0))));
+        models.put(APP, models(androidProject(issue(GradleModelCache.TYPE_UNRESOLVED_DEPENDENCY))));
+        assertTrue(GradleModelCache.hasUnresolvedDependencies(models));
+    }
+
+    @Test
+    public void testResolvedBuildIsAccepted() {
+        HashMap<File, ArrayList<Object>> models = new HashMap<>();
+        models.put(LIB, models(androidProject(), "not a model"));
+        models.put(APP, models(androidProject(issue(0)), null));
+        assertFalse(GradleModelCache.hasUnresolvedDependencies(models));
+    }
+
+    @Test
+    public void testPluginWithoutSyncIssues() {
+        Object model = Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{AndroidProject.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        HashMap<File, ArrayList<Object>> models = new HashMap<>();
+        models.put(APP, models(model));
+        assertFalse(GradleModelCache.hasUnresolvedDependencies(models));
+    }
+
+    private void write(String path, String content) throws IOException {
+        File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(String path) throws IOException {
+        return new String(Files.readAllBytes(new File(root, path).toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static ArrayList<Object> models(Object... models) {
+        return new ArrayList<>(Arrays.asList(models));
+    }
+
+    private static AndroidProject androidProject(SyncIssue... issues) {
+        return proxy(AndroidProject.class, "getSyncIssues", Arrays.asList(issues));
+    }
+
+    private static SyncIssue issue(int type) {
+        return proxy(SyncIssue.class, "getType", type);
+    }
+
+    private static <T> T proxy(Class<T> type, final String name, final Object value) {
+        return type.cast(Proxy.newProxyInstance(GradleModelCacheTest.class.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (name.equals(method.getName())) {
+                    return value;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        }));
+    }
+
+    public interface AndroidProject {
+
+        Collection<SyncIssue> getSyncIssues();
+    }
+
+    public interface SyncIssue {
+
+        int getType();
+    }
+
+}
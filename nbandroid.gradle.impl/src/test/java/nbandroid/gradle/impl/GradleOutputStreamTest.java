@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package nbandroid.gradle.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+import org.netbeans.api.io.Hyperlink;
+
+/**
+ * Line splitting of Gradle output
+ *
+ * @author arsi
+ */
+public class GradleOutputStreamTest {
+
+    private static final Logger LOG = Logger.getLogger(GradleOutputStreamTest.class.getName());
+    private static final String EOL = "\n\r";
+    private static final String ESC = "\u001B";
+
+    /**
+     * Replay of large build log written in random chunks, output must be the
+     * same text without colors
+     */
+    @Test
+    public void testReplayLargeLog() throws IOException {
+        List<String> lines = createLog(200000);
+        StringBuilder log = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        Random random = new Random(1);
+        for (String line : lines) {
+            log.append(line).append(random.nextBoolean() ? "\n" : "\r\n");
+            expected.append(GradleOutputStream.stripColors(line)).append(EOL);
+        }
+        byte[] bytes = log.toString().getBytes(StandardCharsets.UTF_8);
+        CapturingStream stream = new CapturingStream();
+        long start = System.nanoTime();
+        int offset = 0;
+        while (offset < bytes.length) {
+            int length = Math.min(bytes.length - offset, 1 + random.nextInt(8192));
+            stream.write(bytes, offset, length);
+            offset += length;
+        }
+        stream.close();
+        long time = System.nanoTime() - start;
+        LOG.log(Level.INFO, "Replayed {0} lines, {1} MB in {2} ms",
+                new Object[]{lines.size(), bytes.length / (1024 * 1024), time / 1000000});
+        assertEquals(expected.toString(), stream.getText());
+    }
+
+    @Test
+    public void testLongLineIsSplitAtCharacterBoundary() throws IOException {
+        StringBuilder sb = new StringBuilder("ab");
+        for (int i = 0; i < 20000; i++) {
+            //3 bytes, 16 KB boundary falls inside of character
+            sb.append('\u20AC');
+        }
+        String line = sb.toString();
+        CapturingStream stream = new CapturingStream();
+        stream.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        stream.close();
+        assertFalse(stream.getText().contains("\uFFFD"));
+        assertEquals(line + EOL, stream.getText());
+    }
+
+    @Test
+    public void testFlushKeepsIncompleteCharacter() throws IOException {
+        byte[] euro = "\u20AC".getBytes(StandardCharsets.UTF_8);
+        CapturingStream stream = new CapturingStream();
+        stream.write("x".getBytes(StandardCharsets.UTF_8));
+        stream.write(euro, 0, 1);
+        stream.flush();
+        assertEquals("x", stream.getText());
+        stream.write(euro, 1, 2);
+        stream.write('\n');
+        stream.close();
+        assertEquals("x\u20AC" + EOL, stream.getText());
+    }
+
+    @Test
+    public void testColorsAreStripped() throws IOException {
+        CapturingStream stream = new CapturingStream();
+        stream.write((ESC + "[0;32mBUILD SUCCESSFUL" + ESC + "[0;39m\n").getBytes(StandardCharsets.UTF_8));
+        stream.close();
+        assertEquals("BUILD SUCCESSFUL" + EOL, stream.getText());
+    }
+
+    private static List<String> createLog(int count) {
+        List<String> lines = new ArrayList<>(count);
+        StringBuilder longLine = new StringBuilder("> Task :app:lint ");
+        while (longLine.length() < 40000) {
+            longLine.append("\u017Elt\u00FD k\u00F4\u0148 \u65E5\u672C\u8A9E \uD83D\uDE00 ");
+        }
+        for (int i = 0; i < count; i++) {
+            switch (i % 8) {
+                case 0:
+                    lines.add("> Task :module" + (i % 50) + ":compileDebugJavaWithJavac");
+                    break;
+                case 1:
+                    lines.add(ESC + "[0;32m" + "BUILD SUCCESSFUL in " + i + "ms" + ESC + "[0;39m");
+                    break;
+                case 2:
+                    lines.add("/tmp/project/app/src/main/java/Foo" + i + ".java:" + (i % 100 + 1) + ": error: cannot find symbol");
+                    break;
+                case 3:
+                    lines.add("e: /tmp/project/app/src/main/java/Bar" + i + ".kt: (" + (i % 100 + 1) + ", 5): Unresolved reference");
+                    break;
+                case 4:
+                    lines.add("Kompil\u00E1cia \u2013 \u2713 \u65E5\u672C\u8A9E \uD83D\uDE00 " + i);
+                    break;
+                case 5:
+                    lines.add("");
+                    break;
+                case 6:
+                    lines.add(i % 800 == 6 ? longLine.toString() : "w: warning " + i);
+                    break;
+                default:
+                    lines.add("    at com.example.Foo.bar(Foo.java:" + i + ")");
+                    break;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Captures text written to output window
+     */
+    private static final class CapturingStream extends GradleOutputStream {
+
+        private final StringBuilder text = new StringBuilder();
+
+        private CapturingStream() {
+            super(null);
+        }
+
+        @Override
+        void print(String text) {
+            synchronized (this.text) {
+                this.text.append(text);
+            }
+        }
+
+        @Override
+        void print(String text, Hyperlink hyperlink) {
+            synchronized (this.text) {
+                this.text.append(text).append(EOL);
+            }
+        }
+
+        private String getText() {
+            synchronized (text) {
+                return text.toString();
+            }
+        }
+    }
+
+}
@@ -19,6 +19,8 @@
 
 package nbandroid.gradle.spi;
 
+import org.openide.filesystems.FileObject;
+
 /**
  *
  * @author arsi
@@ -26,4 +28,13 @@ package nbandroid.gradle.spi;
 public interface BuildMutexProvider {
 
     public BuildMutex create();
+
+    /**
+     * Mutex shared by all projects of Gradle root project. Model loading uses
+     * read access, task execution write access.
+     *
+     * @param projectDirectory
+     * @return
+     */
+    public BuildMutex create(FileObject projectDirectory);
 }
@@ -37,4 +37,11 @@ public interface GradleHandler {
     public Lookup getModelLookup(Project project);
 
     public File getGradleHome(Project project);
+
+    public void projectClosed(Project project);
+
+    /**
+     * Cancel running model load of project root, superseded by new request
+     */
+    public void cancelModelLoading(Project project);
 }
@@ -18,10 +18,19 @@
  */
 package nbandroid.gradle.spi;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
 import java.util.StringTokenizer;
 import org.netbeans.api.project.Project;
+import org.openide.filesystems.FileObject;
 import org.netbeans.spi.project.AuxiliaryProperties;
 
 /**
@@ -36,10 +45,15 @@ public class GradleJvmConfiguration {
     private static final String PREFERENCE_GRADLE_JVM_MIN_HEAP = "PREFERENCE_GRADLE_JVM_MIN_HEAP";
     private static final String PREFERENCE_GRADLE_JVM_MAX_HEAP = "PREFERENCE_GRADLE_JVM_MAX_HEAP";
     private static final String PREFERENCE_GRADLE_JVM_CUSTOM = "PREFERENCE_GRADLE_JVM_CUSTOM";
+    private static final String PREFERENCE_GRADLE_JVM_OVERRIDE_HEAP = "PREFERENCE_GRADLE_JVM_OVERRIDE_HEAP";
+    private static final String GRADLE_JVMARGS = "org.gradle.jvmargs";
+    private static final int MIN_AUTO_HEAP = 1024;
+    private static final int MAX_AUTO_HEAP = 4096;
 
     private String minHeap;
     private String maxHeap;
     private String custom;
+    private boolean overrideHeap;
 
     public GradleJvmConfiguration(Project project) {
         this.project = project;
@@ -47,6 +61,13 @@ public class GradleJvmConfiguration {
         minHeap = auxProps.get(PREFERENCE_GRADLE_JVM_MIN_HEAP, false);
         maxHeap = auxProps.get(PREFERENCE_GRADLE_JVM_MAX_HEAP, false);
         custom = auxProps.get(PREFERENCE_GRADLE_JVM_CUSTOM, false);
+        String override = auxProps.get(PREFERENCE_GRADLE_JVM_OVERRIDE_HEAP, false);
+        if (override != null) {
+            overrideHeap = Boolean.parseBoolean(override);
+        } else {
+            //heap stored before override option existed was always applied
+            overrideHeap = (minHeap != null && !minHeap.isEmpty()) || (maxHeap != null && !maxHeap.isEmpty());
+        }
         if (minHeap == null || minHeap.isEmpty()) {
             minHeap = "800";
         }
@@ -98,10 +119,29 @@ public class GradleJvmConfiguration {
         auxProps.put(PREFERENCE_GRADLE_JVM_CUSTOM, custom, false);
     }
 
+    /**
+     * When true heap size from IDE settings is used instead of
+     * org.gradle.jvmargs
+     *
+     * @return
+     */
+    public boolean isOverrideHeap() {
+        return overrideHeap;
+    }
+
+    public void setOverrideHeap(boolean overrideHeap) {
+        this.overrideHeap = overrideHeap;
+        auxProps.put(PREFERENCE_GRADLE_JVM_OVERRIDE_HEAP, Boolean.toString(overrideHeap), false);
+    }
+
     public String[] getJvmArguments() {
         List<String> arguments = new ArrayList<>();
-        arguments.add("-Xms" + minHeap + "M");
-        arguments.add("-Xmx" + maxHeap + "M");
+        if (overrideHeap) {
+            arguments.add("-Xms" + minHeap + "M");
+            arguments.add("-Xmx" + maxHeap + "M");
+        } else {
+            arguments.addAll(Arrays.asList(getDefaultJvmArguments(project.getProjectDirectory())));
+        }
         if (custom != null && !custom.isEmpty()) {
             String tmp = custom.replace("\n\r", ";").replace("\r\n", ";").replace("\r", ";").replace("\n", ";");
             StringTokenizer tok = new StringTokenizer(tmp, ";", false);
@@ -112,4 +152,99 @@ public class GradleJvmConfiguration {
         return arguments.toArray(new String[arguments.size()]);
     }
 
+    /**
+     * JVM arguments used when heap is not overridden in IDE. Any JVM argument
+     * passed through the Tooling API replaces org.gradle.jvmargs, so they are
+     * passed explicitly to reuse daemons started from command line. Without
+     * org.gradle.jvmargs the heap is sized by physical memory.
+     *
+     * @param projectDir
+     * @return
+     */
+    public static String[] getDefaultJvmArguments(FileObject projectDir) {
+        String jvmArgs = findGradleJvmArgs(projectDir);
+        if (jvmArgs != null && !jvmArgs.trim().isEmpty()) {
+            return splitJvmArgs(jvmArgs);
+        }
+        return new String[]{"-Xmx" + autoHeapSize() + "M"};
+    }
+
+    private static String findGradleJvmArgs(FileObject projectDir) {
+        //Gradle user home properties take precedence over the project ones
+        String gradleUserHome = System.getenv("GRADLE_USER_HOME");
+        File userHome = gradleUserHome != null ? new File(gradleUserHome) : new File(System.getProperty("user.home"), ".gradle");
+        File userProperties = new File(userHome, "gradle.properties");
+        if (userProperties.isFile()) {
+            try (InputStream is = new FileInputStream(userProperties)) {
+                String value = loadJvmArgs(is);
+                if (value != null) {
+                    return value;
+                }
+            } catch (IOException ex) {
+            }
+        }
+        FileObject dir = projectDir;
+        FileObject rootDir = null;
+        while (dir != null) {
+            if (dir.getFileObject("settings.gradle") != null || dir.getFileObject("settings.gradle.kts") != null) {
+                rootDir = dir;
+                break;
+            }
+            dir = dir.getParent();
+        }
+        if (rootDir == null) {
+            rootDir = projectDir;
+        }
+        FileObject properties = rootDir != null ? rootDir.getFileObject("gradle.properties") : null;
+        if (properties != null) {
+            try (InputStream is = properties.getInputStream()) {
+                return loadJvmArgs(is);
+            } catch (IOException ex) {
+            }
+        }
+        return null;
+    }
+
+    private static String loadJvmArgs(InputStream is) throws IOException {
+        Properties properties = new Properties();
+        properties.load(is);
+        return properties.getProperty(GRADLE_JVMARGS);
+    }
+
+    private static String[] splitJvmArgs(String jvmArgs) {
+        List<String> arguments = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (char c : jvmArgs.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (sb.length() > 0) {
+                    arguments.add(sb.toString());
+                    sb.setLength(0);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        if (sb.length() > 0) {
+            arguments.add(sb.toString());
+        }
+        return arguments.toArray(new String[arguments.size()]);
+    }
+
+    private static int autoHeapSize() {
+        long physicalMemory = 0;
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            physicalMemory = ((com.sun.management.OperatingSystemMXBean) osBean).getTotalPhysicalMemorySize();
+        }
+        if (physicalMemory <= 0) {
+            return 2048;
+        }
+        int heap = (int) (physicalMemory / 4 / (1024 * 1024));
+        heap = Math.max(MIN_AUTO_HEAP, Math.min(MAX_AUTO_HEAP, heap));
+        return heap / 256 * 256;
+    }
+
 }
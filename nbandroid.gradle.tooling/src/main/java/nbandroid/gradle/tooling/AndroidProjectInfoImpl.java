@@ -27,7 +27,7 @@ import java.util.Map;
  *
  * @author arsi
  */
-public class AndroidProjectInfoImpl implements AndroidProjectInfo {
+public class AndroidProjectInfoImpl implements AndroidProjectTasks {
 
     private final Map<String, List<TaskInfo>> projectTasks = new HashMap<>();
 
@@ -21,6 +21,8 @@ package nbandroid.gradle.tooling;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,7 +58,7 @@ public class NbAndroidToolingPlugin implements Plugin<Project> {
 
         @Override
         public boolean canBuild(String modelName) {
-            return AndroidProjectInfo.class.getName().equals(modelName);
+            return AndroidProjectInfo.class.getName().equals(modelName) || AndroidProjectTasks.class.getName().equals(modelName);
         }
 
         @Override
@@ -65,37 +67,16 @@ public class NbAndroidToolingPlugin implements Plugin<Project> {
             try {
                 ((AndroidProjectInfoImpl) info).setProjectPath(project.getProjectDir().getAbsolutePath());
                 Map<String, List<TaskInfo>> projectTasks = info.getProjectTasks();
-                Map<Project, Set<Task>> tasks = project.getAllTasks(true);
-                for (Map.Entry<Project, Set<Task>> entry : tasks.entrySet()) {
-                    Set<Task> tasksSet = entry.getValue();
-                    tasksSet.stream().forEach(t -> {
-                        String group = t.getGroup();
-                        if (group == null) {
-                            group = "default";
-                        }
-                        List<TaskInfo> lst = projectTasks.get(group);
-                        if (lst == null) {
-                            lst = new ArrayList<>();
-                            projectTasks.put(group, lst);
-                        }
-                        TaskInfoImpl infoImpl = new TaskInfoImpl(t.getEnabled(), group, t.getDescription(), t.getName(), t.getPath());
-                        if (!lst.contains(infoImpl)) {
-                            lst.add(infoImpl);
-                        }
-
-                    });
+                Map<String, Set<TaskInfo>> added = new HashMap<>();
+                if (AndroidProjectTasks.class.getName().equals(modelName)) {
+                    addTaskDetails(project, projectTasks, added);
+                } else {
+                    addTaskNames(project, projectTasks, added);
                 }
                 List<String> defaultTasks = project.getDefaultTasks();
-                List<TaskInfo> lst = projectTasks.get("default");
-                if (lst == null) {
-                    lst = new ArrayList<>();
-                    projectTasks.put("default", lst);
-                }
                 for (String defaultTask : defaultTasks) {
                     TaskInfoImpl infoImpl = new TaskInfoImpl(true, "default", defaultTask, defaultTask, ":" + defaultTask);
-                    if (!lst.contains(infoImpl)) {
-                        lst.add(infoImpl);
-                    }
+                    addTask(projectTasks, added, infoImpl);
                 }
 
             } catch (Exception ex) {
@@ -108,6 +89,48 @@ public class NbAndroidToolingPlugin implements Plugin<Project> {
             }
             return info;
         }
+
+        /**
+         * Task names of project and subprojects, names are read without
+         * realization of tasks
+         */
+        private void addTaskNames(Project project, Map<String, List<TaskInfo>> projectTasks, Map<String, Set<TaskInfo>> added) {
+            for (Project p : project.getAllprojects()) {
+                String prefix = p == p.getRootProject() ? ":" : p.getPath() + ":";
+                for (String name : p.getTasks().getNames()) {
+                    addTask(projectTasks, added, new TaskInfoImpl(true, "default", null, name, prefix + name));
+                }
+            }
+        }
+
+        /**
+         * Realize all tasks of project and subprojects to get group and
+         * description
+         */
+        private void addTaskDetails(Project project, Map<String, List<TaskInfo>> projectTasks, Map<String, Set<TaskInfo>> added) {
+            Map<Project, Set<Task>> tasks = project.getAllTasks(true);
+            for (Map.Entry<Project, Set<Task>> entry : tasks.entrySet()) {
+                for (Task t : entry.getValue()) {
+                    String group = t.getGroup();
+                    if (group == null) {
+                        group = "default";
+                    }
+                    addTask(projectTasks, added, new TaskInfoImpl(t.getEnabled(), group, t.getDescription(), t.getName(), t.getPath()));
+                }
+            }
+        }
+
+        private void addTask(Map<String, List<TaskInfo>> projectTasks, Map<String, Set<TaskInfo>> added, TaskInfo infoImpl) {
+            Set<TaskInfo> set = added.get(infoImpl.getGroup());
+            if (set == null) {
+                set = new HashSet<>();
+                added.put(infoImpl.getGroup(), set);
+                projectTasks.put(infoImpl.getGroup(), new ArrayList<TaskInfo>());
+            }
+            if (set.add(infoImpl)) {
+                projectTasks.get(infoImpl.getGroup()).add(infoImpl);
+            }
+        }
     }
 
 }
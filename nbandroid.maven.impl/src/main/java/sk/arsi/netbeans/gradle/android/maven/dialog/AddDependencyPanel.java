@@ -28,8 +28,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.Action;
@@ -100,7 +102,8 @@ public class AddDependencyPanel extends javax.swing.JPanel {
     private boolean jcenterPartial = true;
     private boolean googlePartial = true;
     private boolean mavenPartial = true;
-    private String selected = null;
+    //gradle lines of selected artifacts, one version per artifact
+    private final List<String> selected = new ArrayList<>();
 
     /**
      * Creates new form AddDependenCy
@@ -164,8 +167,8 @@ public class AddDependencyPanel extends javax.swing.JPanel {
         SwingUtilities.invokeLater(runnable);
     }
 
-    public String getSelected() {
-        return selected;
+    public List<String> getSelected() {
+        return new ArrayList<>(selected);
     }
 
     public void attachDialogDisplayer(DialogDescriptor dd) {
@@ -183,26 +186,39 @@ public class AddDependencyPanel extends javax.swing.JPanel {
         return cancel;
     }
 
-    private void changeSelection(Lookup lookup) {
-        MavenDependencyInfo dependencyInfo = lookup.lookup(MavenDependencyInfo.class);
-        MavenDependencyInfo.Version version = lookup.lookup(MavenDependencyInfo.Version.class);
-        if (version != null) {
-            labelGroup.setText(version.getGroupId());
-            labelArtifact.setText(version.getArtifactId());
-            labelVersion.setText(version.getVersion());
-            selected = version.getGradleLine();
-        } else if (dependencyInfo != null) {
-            labelGroup.setText(dependencyInfo.getGroupId());
-            labelArtifact.setText(dependencyInfo.getArtifactId());
-            labelVersion.setText("+");
-            selected = dependencyInfo.getGradleLine() + ":+";
-        } else {
+    private void changeSelection(Node... nodes) {
+        selected.clear();
+        Set<String> artifacts = new HashSet<>();
+        for (Node node : nodes) {
+            Lookup lookup = node.getLookup();
+            MavenDependencyInfo dependencyInfo = lookup.lookup(MavenDependencyInfo.class);
+            MavenDependencyInfo.Version version = lookup.lookup(MavenDependencyInfo.Version.class);
+            if (version != null) {
+                if (artifacts.add(version.getGroupId() + ':' + version.getArtifactId())) {
+                    labelGroup.setText(version.getGroupId());
+                    labelArtifact.setText(version.getArtifactId());
+                    labelVersion.setText(version.getVersion());
+                    selected.add(version.getGradleLine());
+                }
+            } else if (dependencyInfo != null) {
+                if (artifacts.add(dependencyInfo.getGroupId() + ':' + dependencyInfo.getArtifactId())) {
+                    labelGroup.setText(dependencyInfo.getGroupId());
+                    labelArtifact.setText(dependencyInfo.getArtifactId());
+                    labelVersion.setText("+");
+                    selected.add(dependencyInfo.getGradleLine() + ":+");
+                }
+            }
+        }
+        if (selected.isEmpty()) {
             labelGroup.setText("...");
             labelArtifact.setText("...");
             labelVersion.setText("...");
-            selected = null;
+        } else if (selected.size() > 1) {
+            labelGroup.setText(selected.size() + " dependencies");
+            labelArtifact.setText("...");
+            labelVersion.setText("...");
         }
-        ok.setEnabled(selected != null);
+        ok.setEnabled(!selected.isEmpty());
 
     }
 
@@ -388,7 +404,7 @@ public class AddDependencyPanel extends javax.swing.JPanel {
             btv = new BeanTreeView();
             btv.setRootVisible(false);
             btv.setDefaultActionAllowed(true);
-            btv.setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
+            btv.setSelectionMode(TreeSelectionModel.DISCONTIGUOUS_TREE_SELECTION);
             manager = new ExplorerManager();
             setLayout(new BorderLayout());
             add(btv, BorderLayout.CENTER);
@@ -423,7 +439,7 @@ public class AddDependencyPanel extends javax.swing.JPanel {
 
         void find(String queryText) {
             synchronized (LOCK) {
-                changeSelection(Lookup.EMPTY);
+                changeSelection();
                 if (queryText.equals(lastQueryText)) {
                     return;
                 }
@@ -515,13 +531,13 @@ public class AddDependencyPanel extends javax.swing.JPanel {
 
         /**
          * PropertyChangeListener impl, stores maven coordinates of selected
-         * artifact
+         * artifacts
          */
         @Override
         public void propertyChange(PropertyChangeEvent evt) {
             if (ExplorerManager.PROP_SELECTED_NODES.equals(evt.getPropertyName())) {
                 Node[] selNodes = manager.getSelectedNodes();
-                changeSelection(selNodes.length == 1 ? selNodes[0].getLookup() : Lookup.EMPTY);
+                changeSelection(selNodes);
             }
         }
 
@@ -19,6 +19,7 @@
 
 package sk.arsi.netbeans.gradle.android.maven.impl;
 
+import java.util.Collections;
 import java.util.List;
 import org.openide.DialogDescriptor;
 import org.openide.DialogDisplayer;
@@ -37,7 +38,7 @@ import sk.arsi.netbeans.gradle.android.maven.repository.Repository;
 public class AddDependecyDialogProviderImpl implements AddDependecyDialogProvider {
 
     @Override
-    public String showAddDependencyDialog(List<Repository> repositories, List<String> currentPackages) {
+    public List<String> showAddDependencyDialog(List<Repository> repositories, List<String> currentPackages) {
         AddDependencyPanel panel = new AddDependencyPanel(repositories, currentPackages);
         DialogDescriptor dd = new DialogDescriptor(panel, "Add dependency");
         dd.setClosingOptions(null);
@@ -49,11 +50,11 @@ public class AddDependecyDialogProviderImpl implements AddDependecyDialogProvide
         if (notify.equals(panel.getOkButton())) {
             return panel.getSelected();
         }
-        return null;
+        return Collections.emptyList();
     }
 
     @Override
-    public String showAddGoogleDependencyDialog(List<Repository> repositories, List<String> currentPackages) {
+    public List<String> showAddGoogleDependencyDialog(List<Repository> repositories, List<String> currentPackages) {
         GoogleSearchProviderImpl searchProviderImpl = Lookup.getDefault().lookup(GoogleSearchProviderImpl.class);
         if (searchProviderImpl != null) {
             AddDependencyPanel panel = new AddDependencyPanel(repositories, currentPackages, searchProviderImpl.getGoogleIndex());
@@ -68,7 +69,7 @@ public class AddDependecyDialogProviderImpl implements AddDependecyDialogProvide
                 return panel.getSelected();
             }
         }
-        return null;
+        return Collections.emptyList();
     }
 
 }
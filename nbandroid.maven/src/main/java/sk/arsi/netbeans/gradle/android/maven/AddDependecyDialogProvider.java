@@ -28,7 +28,21 @@ import sk.arsi.netbeans.gradle.android.maven.repository.Repository;
  */
 public interface AddDependecyDialogProvider {
 
-    public String showAddDependencyDialog(List<Repository> repositories, List<String> currentPackages);
+    /**
+     * Show dialog to select dependencies to add
+     *
+     * @param repositories
+     * @param currentPackages
+     * @return gradle lines of selected dependencies, empty when cancelled
+     */
+    public List<String> showAddDependencyDialog(List<Repository> repositories, List<String> currentPackages);
 
-    public String showAddGoogleDependencyDialog(List<Repository> repositories, List<String> currentPackages);
+    /**
+     * Show dialog to select Google Android dependencies to add
+     *
+     * @param repositories
+     * @param currentPackages
+     * @return gradle lines of selected dependencies, empty when cancelled
+     */
+    public List<String> showAddGoogleDependencyDialog(List<Repository> repositories, List<String> currentPackages);
 }